@@ -0,0 +1,80 @@
+#!/usr/bin/env bash
+#
+# Startup benchmark: time-to-first-request and resident memory for the
+# JIT (plain jar), CDS (AOT + class-data-sharing archive) and native variants.
+#
+# Prerequisites:
+#   mvn -Pfast-startup package -DskipTests          # AOT-processed jar and CDS archive (target/cds)
+#   mvn -Pnative native:compile -DskipTests         # optional, needs GraalVM
+#   a reachable database (same spring.datasource.* as a normal start)
+#
+# Usage: scripts/startup-benchmark.sh [runs]
+# Extra JVM/app options can be passed through JAVA_OPTS / APP_ARGS.
+
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${PORT:-8080}"
+URL="http://localhost:${PORT}/api/api-docs"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+JAR="$(ls "$ROOT"/target/card-*.jar | grep -v plain | head -n 1)"
+NATIVE="$ROOT/target/card"
+WORK="$ROOT/target/startup"
+APP_ARGS="${APP_ARGS:-} --server.port=${PORT}"
+
+now_ms() { date +%s%3N; }
+
+# Starts the command, waits for the first successful request and prints "<ms> <rss KB>"
+measure() {
+    local start pid rss
+    start=$(now_ms)
+    "$@" $APP_ARGS > "$WORK/last-run.log" 2>&1 &
+    pid=$!
+    until curl -sf -o /dev/null "$URL"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "process exited before serving a request, see $WORK/last-run.log" >&2
+            exit 1
+        fi
+        sleep 0.02
+    done
+    local elapsed=$(( $(now_ms) - start ))
+    rss=$(ps -o rss= -p "$pid" | tr -d ' ')
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo "$elapsed $rss"
+}
+
+report() {
+    local name="$1"
+    shift
+    local total_ms=0 total_rss=0 result ms rss
+    for _ in $(seq "$RUNS"); do
+        result=$(measure "$@")
+        ms=${result% *}
+        rss=${result#* }
+        total_ms=$((total_ms + ms))
+        total_rss=$((total_rss + rss))
+    done
+    printf "%-8s first request %6d ms   RSS %7d KB   (mean of %d runs)\n" \
+        "$name" $((total_ms / RUNS)) $((total_rss / RUNS)) "$RUNS"
+}
+
+rm -rf "$WORK"
+mkdir -p "$WORK"
+
+# Unpacked class path and archive written by the fast-startup profile's training run
+CDS="$ROOT/target/cds"
+if [[ ! -f "$CDS/app.jsa" ]]; then
+    echo "$CDS/app.jsa not found: run mvn -Pfast-startup package -DskipTests first" >&2
+    exit 1
+fi
+CLASSPATH_APP="$CDS/application.jar:$CDS/app/BOOT-INF/lib/*"
+MAIN=com.hyperativa.card.CardApplication
+
+report "JIT" java ${JAVA_OPTS:-} -jar "$JAR"
+report "CDS" java ${JAVA_OPTS:-} -XX:SharedArchiveFile="$CDS/app.jsa" -Dspring.aot.enabled=true -cp "$CLASSPATH_APP" $MAIN
+if [[ -x "$NATIVE" ]]; then
+    report "native" "$NATIVE"
+else
+    echo "native   skipped ($NATIVE not built)"
+fi
@@ -0,0 +1,72 @@
+package com.hyperativa.card.config;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of connection acquire times with power-of-two microsecond
+ * buckets: bucket 0 counts waits under 1 µs, bucket i waits in [2^(i-1), 2^i) µs,
+ * the last bucket everything from ~16 s up.
+ */
+public class AcquireTimeHistogram {
+
+    public static final int BUCKETS = 26;
+
+    private final LongAdder[] counts = new LongAdder[BUCKETS];
+
+    public AcquireTimeHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        long micros = nanos / 1000;
+        int bucket = micros <= 0 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+        counts[bucket].increment();
+    }
+
+    public long[] snapshot() {
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts[i].sum();
+        }
+        return snapshot;
+    }
+
+    /**
+     * Exclusive upper bound of a bucket in microseconds.
+     */
+    public static long upperBoundMicros(int bucket) {
+        return 1L << bucket;
+    }
+
+    /**
+     * Upper bound of the bucket holding the given quantile, or 0 if there are no samples.
+     */
+    public static long percentileMicros(long[] counts, double quantile) {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return upperBoundMicros(i);
+            }
+        }
+        return upperBoundMicros(counts.length - 1);
+    }
+
+    public static long[] difference(long[] current, long[] previous) {
+        long[] delta = new long[current.length];
+        for (int i = 0; i < current.length; i++) {
+            delta[i] = current[i] - (previous == null ? 0 : previous[i]);
+        }
+        return delta;
+    }
+}
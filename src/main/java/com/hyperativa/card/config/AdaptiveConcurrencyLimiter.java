@@ -0,0 +1,107 @@
+package com.hyperativa.card.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit that follows observed latency (gradient algorithm, as in
+ * Netflix concurrency-limits' Gradient2). A long-term RTT average is the
+ * baseline. While fresh RTT samples stay near the baseline, the limit grows by
+ * about sqrt(limit). When queueing pushes RTT above the baseline, the limit
+ * shrinks in proportion, so excess requests are shed instead of waiting in
+ * Tomcat and Hikari queues.
+ * Acquiring is lock-free; the limit update on completion takes a short lock.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final int LONG_RTT_WINDOW = 600; // samples averaged into the baseline
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private final double smoothing;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+
+    private volatile int limit;
+    private double estimatedLimit;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                                      double rttTolerance, double smoothing) {
+        this.name = name;
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.rttTolerance = Math.max(1.0, rttTolerance);
+        this.smoothing = smoothing;
+        this.estimatedLimit = clamp(initialLimit);
+        this.limit = (int) estimatedLimit;
+    }
+
+    /**
+     * Reserves an in-flight slot.
+     *
+     * @return the number of requests in flight when the slot was taken, or -1 if the limit is reached
+     */
+    public int tryAcquire() {
+        int current = inflight.incrementAndGet();
+        if (current > limit) {
+            inflight.decrementAndGet();
+            rejected.increment();
+            return -1;
+        }
+        return current;
+    }
+
+    /**
+     * Frees a slot and feeds the request latency into the limit estimate.
+     */
+    public void release(long rttNanos, int inflightAtStart) {
+        inflight.decrementAndGet();
+        if (rttNanos > 0) {
+            onSample(rttNanos, inflightAtStart);
+        }
+    }
+
+    private synchronized void onSample(long rttNanos, int inflightAtStart) {
+        double shortRtt = rttNanos;
+        longRttNanos = longRttNanos == 0 ? shortRtt : longRttNanos + (shortRtt - longRttNanos) / LONG_RTT_WINDOW;
+
+        // Let the baseline recover quickly once a latency spike is over
+        if (longRttNanos / shortRtt > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        // Only samples taken near the limit say anything about saturation
+        if (inflightAtStart < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRttNanos / shortRtt));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = clamp(estimatedLimit * (1 - smoothing) + newLimit * smoothing);
+        limit = (int) estimatedLimit;
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+}
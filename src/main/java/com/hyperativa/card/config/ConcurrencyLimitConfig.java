@@ -0,0 +1,81 @@
+package com.hyperativa.card.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Set;
+
+/**
+ * Adaptive concurrency limits in front of CardController and AuthController.
+ * Each group has its own limiter because a BCrypt login, a card lookup and an
+ * upload or export have very different latencies: a minutes-long export in the
+ * cards limiter would push its limit down to min-limit and shed lookups. The
+ * filters run before Spring Security so shedding costs less than verifying a JWT.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    // Long-running card endpoints, limited apart from the lookups and single inserts
+    private static final String[] BULK_PATHS = {"/cards/upload", "/cards/export"};
+
+    @Value("${app.concurrency-limit.initial-limit:20}")
+    private int initialLimit;
+
+    @Value("${app.concurrency-limit.min-limit:4}")
+    private int minLimit;
+
+    @Value("${app.concurrency-limit.max-limit:200}")
+    private int maxLimit;
+
+    @Value("${app.concurrency-limit.rtt-tolerance:1.5}")
+    private double rttTolerance;
+
+    @Value("${app.concurrency-limit.smoothing:0.2}")
+    private double smoothing;
+
+    @Bean
+    public AdaptiveConcurrencyLimiter cardsConcurrencyLimiter() {
+        return new AdaptiveConcurrencyLimiter("cards", initialLimit, minLimit, maxLimit, rttTolerance, smoothing);
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter bulkConcurrencyLimiter() {
+        return new AdaptiveConcurrencyLimiter("bulk", initialLimit, minLimit, maxLimit, rttTolerance, smoothing);
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter authConcurrencyLimiter() {
+        return new AdaptiveConcurrencyLimiter("auth", initialLimit, minLimit, maxLimit, rttTolerance, smoothing);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> cardsConcurrencyLimitFilter() {
+        return registration(new ConcurrencyLimitFilter(cardsConcurrencyLimiter(), Set.of(BULK_PATHS)),
+                "/cards", "/cards/*");
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> bulkConcurrencyLimitFilter() {
+        return registration(new ConcurrencyLimitFilter(bulkConcurrencyLimiter()), BULK_PATHS);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> authConcurrencyLimitFilter() {
+        return registration(new ConcurrencyLimitFilter(authConcurrencyLimiter()), "/auth/*");
+    }
+
+    private static FilterRegistrationBean<ConcurrencyLimitFilter> registration(ConcurrencyLimitFilter filter,
+                                                                               String... urlPatterns) {
+        AdaptiveConcurrencyLimiter limiter = filter.getLimiter();
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setName(limiter.getName() + "ConcurrencyLimitFilter");
+        registration.addUrlPatterns(urlPatterns);
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+}
@@ -0,0 +1,137 @@
+package com.hyperativa.card.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sheds requests with 503 once {@link AdaptiveConcurrencyLimiter} is full.
+ * The slot is released when the response completes, including asynchronous
+ * responses such as /auth/login. Excluded paths (relative to the context path)
+ * bypass this filter, so they neither take a slot nor feed RTT samples.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final Set<String> excludedPaths;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter) {
+        this(limiter, Set.of());
+    }
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter, Set<String> excludedPaths) {
+        this.limiter = limiter;
+        this.excludedPaths = excludedPaths;
+    }
+
+    public AdaptiveConcurrencyLimiter getLimiter() {
+        return limiter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (excludedPaths.isEmpty()) {
+            return false;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return excludedPaths.contains(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        int inflightAtStart = limiter.tryAcquire();
+        if (inflightAtStart < 0) {
+            shed(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        Release release = new Release(start, inflightAtStart);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(release);
+            } else {
+                release.run(false);
+            }
+        }
+    }
+
+    private void shed(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.debug("Shedding {} {}: {} limit {} reached", request.getMethod(), request.getRequestURI(),
+                limiter.getName(), limiter.getLimit());
+
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType("application/json;charset=UTF-8");
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", Instant.now().toString());
+        body.put("status", HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        body.put("error", "Service Unavailable");
+        body.put("message", "Server is at capacity, please retry shortly");
+        body.put("path", request.getRequestURI());
+
+        response.getWriter().write(objectMapper.writeValueAsString(body));
+    }
+
+    private final class Release implements AsyncListener {
+        private final long start;
+        private final int inflightAtStart;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Release(long start, int inflightAtStart) {
+            this.start = start;
+            this.inflightAtStart = inflightAtStart;
+        }
+
+        void run(boolean failed) {
+            if (released.compareAndSet(false, true)) {
+                // Timeouts and errors free the slot but are not latency samples
+                limiter.release(failed ? 0 : System.nanoTime() - start, inflightAtStart);
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            run(false);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            run(true);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            run(true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // The same listener stays registered for a re-started async cycle
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
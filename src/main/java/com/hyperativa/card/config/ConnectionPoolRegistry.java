@@ -0,0 +1,155 @@
+package com.hyperativa.card.config;
+
+import com.hyperativa.card.dto.PoolStatsDto;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps the application's Hikari pools and their telemetry: connection
+ * acquire-time histogram, timeouts and live active/idle/pending counts.
+ * Installed on every pool as its {@link MetricsTrackerFactory}; Hikari allows
+ * only one, so another factory (the Micrometer one) can be chained behind it.
+ */
+public class ConnectionPoolRegistry implements MetricsTrackerFactory {
+
+    private final Map<String, HikariDataSource> pools = new ConcurrentHashMap<>();
+    private final Map<String, Tracker> trackers = new ConcurrentHashMap<>();
+    private final MetricsTrackerFactory delegate;
+
+    public ConnectionPoolRegistry() {
+        this(null);
+    }
+
+    public ConnectionPoolRegistry(MetricsTrackerFactory delegate) {
+        this.delegate = delegate;
+    }
+
+    public void register(HikariDataSource pool) {
+        pool.setMetricsTrackerFactory(this);
+        pools.put(pool.getPoolName(), pool);
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        Tracker tracker = new Tracker(poolStats, delegate == null ? null : delegate.create(poolName, poolStats));
+        trackers.put(poolName, tracker);
+        return tracker;
+    }
+
+    public Map<String, HikariDataSource> getPools() {
+        return pools;
+    }
+
+    /**
+     * Cumulative acquire-time histogram of the pool, or null before it has started.
+     */
+    public long[] acquireHistogram(String poolName) {
+        Tracker tracker = trackers.get(poolName);
+        return tracker == null ? null : tracker.acquireTimes.snapshot();
+    }
+
+    public long timeouts(String poolName) {
+        Tracker tracker = trackers.get(poolName);
+        return tracker == null ? 0 : tracker.timeouts.sum();
+    }
+
+    public int pending(String poolName) {
+        Tracker tracker = trackers.get(poolName);
+        return tracker == null ? 0 : tracker.poolStats.getPendingThreads();
+    }
+
+    public List<PoolStatsDto> snapshot() {
+        List<PoolStatsDto> result = new ArrayList<>();
+        pools.forEach((name, pool) -> {
+            Tracker tracker = trackers.get(name);
+            long[] histogram = tracker == null ? new long[AcquireTimeHistogram.BUCKETS] : tracker.acquireTimes.snapshot();
+            long acquired = 0;
+            for (long count : histogram) {
+                acquired += count;
+            }
+            result.add(new PoolStatsDto(
+                    name,
+                    tracker == null ? 0 : tracker.poolStats.getActiveConnections(),
+                    tracker == null ? 0 : tracker.poolStats.getIdleConnections(),
+                    tracker == null ? 0 : tracker.poolStats.getPendingThreads(),
+                    tracker == null ? 0 : tracker.poolStats.getTotalConnections(),
+                    pool.getMinimumIdle(),
+                    pool.getMaximumPoolSize(),
+                    acquired,
+                    tracker == null ? 0 : tracker.timeouts.sum(),
+                    AcquireTimeHistogram.percentileMicros(histogram, 0.50),
+                    AcquireTimeHistogram.percentileMicros(histogram, 0.95),
+                    AcquireTimeHistogram.percentileMicros(histogram, 0.99),
+                    histogramBuckets(histogram)));
+        });
+        return result;
+    }
+
+    private static Map<String, Long> histogramBuckets(long[] histogram) {
+        Map<String, Long> buckets = new LinkedHashMap<>();
+        for (int i = 0; i < histogram.length; i++) {
+            if (histogram[i] > 0) {
+                buckets.put("<" + AcquireTimeHistogram.upperBoundMicros(i) + "us", histogram[i]);
+            }
+        }
+        return buckets;
+    }
+
+    private static final class Tracker implements IMetricsTracker {
+        private final PoolStats poolStats;
+        private final AcquireTimeHistogram acquireTimes = new AcquireTimeHistogram();
+        private final LongAdder timeouts = new LongAdder();
+        private final IMetricsTracker delegate;
+
+        Tracker(PoolStats poolStats, IMetricsTracker delegate) {
+            this.poolStats = poolStats;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+            if (delegate != null) {
+                delegate.recordConnectionCreatedMillis(connectionCreatedMillis);
+            }
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            acquireTimes.record(elapsedAcquiredNanos);
+            if (delegate != null) {
+                delegate.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+            }
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            if (delegate != null) {
+                delegate.recordConnectionUsageMillis(elapsedBorrowedMillis);
+            }
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            timeouts.increment();
+            if (delegate != null) {
+                delegate.recordConnectionTimeout();
+            }
+        }
+
+        @Override
+        public void close() {
+            if (delegate != null) {
+                delegate.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.hyperativa.card.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Two independently sized Hikari pools behind one routing DataSource: "read"
+ * for API requests and "bulk" for uploads and exports (see {@link DataSourceRouting}).
+ * Both pools use spring.datasource.* for the connection and report to the
+ * {@link ConnectionPoolRegistry} (GET /admin/pools). The router is wrapped in a
+ * {@link StatementCountingDataSource} and, with request tracing on, a {@link TracingDataSource}.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    /**
+     * Also publishes the standard hikaricp.* meters, tagged with the pool name.
+     */
+    @Bean
+    public ConnectionPoolRegistry connectionPoolRegistry(ObjectProvider<MeterRegistry> meterRegistry) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        return new ConnectionPoolRegistry(registry == null ? null : new MicrometerMetricsTrackerFactory(registry));
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties,
+                                 ConnectionPoolRegistry registry,
+                                 @Value("${app.datasource.read.maximum-pool-size:20}") int readMaxSize,
+                                 @Value("${app.datasource.read.minimum-idle:10}") int readMinIdle,
+                                 @Value("${app.datasource.read.connection-timeout:2s}") Duration readTimeout,
+                                 @Value("${app.datasource.bulk.maximum-pool-size:4}") int bulkMaxSize,
+                                 @Value("${app.datasource.bulk.minimum-idle:1}") int bulkMinIdle,
+                                 @Value("${app.datasource.bulk.connection-timeout:30s}") Duration bulkTimeout,
+                                 @Value("${app.db.statement-counting.enabled:true}") boolean countingEnabled,
+                                 @Value("${app.tracing.enabled:true}") boolean tracingEnabled) {
+        HikariDataSource read = pool(properties, registry, "read", readMaxSize, readMinIdle, readTimeout);
+        HikariDataSource bulk = pool(properties, registry, "bulk", bulkMaxSize, bulkMinIdle, bulkTimeout);
+
+        DataSourceRouting routing = new DataSourceRouting(() -> {
+            bulk.close();
+            read.close();
+        });
+        routing.setTargetDataSources(Map.of(DataSourceRouting.Pool.READ, read, DataSourceRouting.Pool.BULK, bulk));
+        routing.setDefaultTargetDataSource(read);
+        routing.afterPropertiesSet();
+        DataSource counted = countingEnabled ? new StatementCountingDataSource(routing) : routing;
+        return tracingEnabled ? new TracingDataSource(counted) : counted;
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, ConnectionPoolRegistry registry,
+                                         String name, int maxSize, int minIdle, Duration connectionTimeout) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName(name);
+        pool.setMaximumPoolSize(maxSize);
+        pool.setMinimumIdle(Math.min(minIdle, maxSize));
+        pool.setConnectionTimeout(connectionTimeout.toMillis());
+        registry.register(pool);
+        return pool;
+    }
+}
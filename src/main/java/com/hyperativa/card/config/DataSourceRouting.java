@@ -0,0 +1,53 @@
+package com.hyperativa.card.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.io.Closeable;
+import java.util.function.Supplier;
+
+/**
+ * Routes connections to the "read" pool (API requests) or the "bulk" pool
+ * (uploads and exports), so long-running bulk work cannot drain the pool
+ * latency-sensitive lookups depend on. The choice is per thread and applies
+ * to every connection acquired inside {@link #bulk(Supplier)}.
+ */
+public class DataSourceRouting extends AbstractRoutingDataSource implements Closeable {
+
+    public enum Pool { READ, BULK }
+
+    private static final ThreadLocal<Pool> CURRENT = new ThreadLocal<>();
+
+    private final Runnable closer;
+
+    public DataSourceRouting(Runnable closer) {
+        this.closer = closer;
+    }
+
+    /**
+     * Runs the action with its connections taken from the bulk pool.
+     */
+    public static <T> T bulk(Supplier<T> action) {
+        Pool previous = CURRENT.get();
+        CURRENT.set(Pool.BULK);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Pool pool = CURRENT.get();
+        return pool == null ? Pool.READ : pool;
+    }
+
+    @Override
+    public void close() {
+        closer.run();
+    }
+}
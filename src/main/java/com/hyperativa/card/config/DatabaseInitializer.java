@@ -5,6 +5,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationContextInitializer;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.core.env.Environment;
+import org.springframework.core.metrics.StartupStep;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
@@ -20,6 +21,15 @@ public class DatabaseInitializer implements ApplicationContextInitializer<Config
 
     @Override
     public void initialize(ConfigurableApplicationContext applicationContext) {
+        StartupStep step = applicationContext.getApplicationStartup().start("card.database.ensure-exists");
+        try {
+            ensureDatabaseExists(applicationContext);
+        } finally {
+            step.end();
+        }
+    }
+
+    private void ensureDatabaseExists(ConfigurableApplicationContext applicationContext) {
         Environment env = applicationContext.getEnvironment();
 
         String url = env.getProperty("spring.datasource.url");
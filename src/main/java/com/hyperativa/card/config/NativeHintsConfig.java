@@ -0,0 +1,68 @@
+package com.hyperativa.card.config;
+
+import com.hyperativa.card.dto.AuthResponse;
+import com.hyperativa.card.dto.CardDto;
+import com.hyperativa.card.dto.CardPageDto;
+import com.hyperativa.card.dto.CardSummaryDto;
+import com.hyperativa.card.dto.LoginRequest;
+import com.hyperativa.card.dto.RefreshRequest;
+import com.hyperativa.card.dto.UploadResultDto;
+import com.hyperativa.card.security.UserCacheInvalidationListener;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Reflection and resource hints that Spring AOT cannot infer, used by the
+ * native-image build (mvn -Pnative native:compile) and recorded by the
+ * fast-startup profile.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeHintsConfig.CardRuntimeHints.class)
+// DTOs serialized outside controller signatures (idempotency replay, springdoc schemas)
+@RegisterReflectionForBinding({AuthResponse.class, CardDto.class, CardPageDto.class, CardSummaryDto.class,
+        LoginRequest.class, RefreshRequest.class, UploadResultDto.class})
+public class NativeHintsConfig {
+
+    static class CardRuntimeHints implements RuntimeHintsRegistrar {
+
+        // jjwt-impl is runtime scope and loaded by name from jjwt-api
+        private static final String[] JJWT_TYPES = {
+                "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+                "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardKeyOperations",
+                "io.jsonwebtoken.impl.security.DefaultKeyBuilderSupplier",
+                "io.jsonwebtoken.jackson.io.JacksonSerializer",
+                "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+        };
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (String type : JJWT_TYPES) {
+                hints.reflection().registerTypeIfPresent(classLoader, type,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS,
+                        MemberCategory.DECLARED_FIELDS);
+            }
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+
+            // JPA entity listener instantiated by Hibernate through the Spring bean container
+            hints.reflection().registerType(UserCacheInvalidationListener.class,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS);
+
+            // Flyway scripts and the Swagger UI bundle served by springdoc
+            hints.resources().registerPattern("db/migration/*.sql");
+            hints.resources().registerPattern("META-INF/resources/webjars/swagger-ui/*");
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.hyperativa.card.config;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optionally resizes the pools from observed acquire waits. Every interval it
+ * looks at the p95 acquire time of that interval only:
+ * - above the target wait, or any timeout: grow by a quarter (at least one);
+ * - below a quarter of the target with nobody waiting for several intervals: shrink by one.
+ * Sizes always stay within the configured bounds of each pool.
+ */
+@Component
+@ConditionalOnProperty(name = "app.datasource.pool-autosize.enabled", havingValue = "true")
+public class PoolSizeController {
+
+    private static final Logger log = LoggerFactory.getLogger(PoolSizeController.class);
+    static final int QUIET_INTERVALS_BEFORE_SHRINK = 3;
+
+    private final ConnectionPoolRegistry registry;
+    private final Duration interval;
+    private final long targetWaitMicros;
+    private final Map<String, int[]> bounds = new HashMap<>();
+
+    private final Map<String, long[]> lastHistogram = new HashMap<>();
+    private final Map<String, Long> lastTimeouts = new HashMap<>();
+    private final Map<String, Integer> quietIntervals = new HashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    public PoolSizeController(ConnectionPoolRegistry registry,
+                              @Value("${app.datasource.pool-autosize.interval:10s}") Duration interval,
+                              @Value("${app.datasource.pool-autosize.target-wait:5ms}") Duration targetWait,
+                              @Value("${app.datasource.pool-autosize.read.min-size:10}") int readMin,
+                              @Value("${app.datasource.pool-autosize.read.max-size:40}") int readMax,
+                              @Value("${app.datasource.pool-autosize.bulk.min-size:2}") int bulkMin,
+                              @Value("${app.datasource.pool-autosize.bulk.max-size:8}") int bulkMax) {
+        this.registry = registry;
+        this.interval = interval;
+        this.targetWaitMicros = TimeUnit.NANOSECONDS.toMicros(targetWait.toNanos());
+        this.bounds.put("read", new int[]{readMin, readMax});
+        this.bounds.put("bulk", new int[]{bulkMin, bulkMax});
+    }
+
+    @PostConstruct
+    public void start() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("pool-autosize-");
+        threadFactory.setDaemon(true);
+        scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        scheduler.scheduleWithFixedDelay(this::adjustAll, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    void adjustAll() {
+        registry.getPools().forEach((name, pool) -> {
+            try {
+                adjust(name, pool);
+            } catch (Exception e) {
+                log.warn("Could not resize pool {}: {}", name, e.getMessage());
+            }
+        });
+    }
+
+    private void adjust(String name, HikariDataSource pool) {
+        int[] bound = bounds.get(name);
+        long[] histogram = registry.acquireHistogram(name);
+        if (bound == null || histogram == null) {
+            return;
+        }
+
+        long[] delta = AcquireTimeHistogram.difference(histogram, lastHistogram.put(name, histogram));
+        long timeouts = registry.timeouts(name);
+        long newTimeouts = timeouts - lastTimeouts.getOrDefault(name, 0L);
+        lastTimeouts.put(name, timeouts);
+
+        long p95 = AcquireTimeHistogram.percentileMicros(delta, 0.95);
+        boolean quiet = registry.pending(name) == 0 && p95 <= targetWaitMicros / 4;
+        int quietCount = quiet ? quietIntervals.merge(name, 1, Integer::sum) : 0;
+        if (!quiet) {
+            quietIntervals.put(name, 0);
+        }
+
+        HikariConfigMXBean config = pool.getHikariConfigMXBean();
+        int current = config.getMaximumPoolSize();
+        int next = nextSize(current, bound[0], bound[1], p95, targetWaitMicros, newTimeouts, quietCount);
+        if (next != current) {
+            if (next < config.getMinimumIdle()) {
+                config.setMinimumIdle(next);
+            }
+            config.setMaximumPoolSize(next);
+            quietIntervals.put(name, 0);
+            log.info("Pool {} resized {} -> {} (p95 acquire {} µs, {} timeouts)", name, current, next, p95, newTimeouts);
+        }
+    }
+
+    static int nextSize(int current, int min, int max, long p95Micros, long targetWaitMicros,
+                        long timeouts, int quietIntervals) {
+        if (p95Micros > targetWaitMicros || timeouts > 0) {
+            return Math.min(max, current + Math.max(1, current / 4));
+        }
+        if (quietIntervals >= QUIET_INTERVALS_BEFORE_SHRINK) {
+            return Math.max(min, current - 1);
+        }
+        return Math.max(min, Math.min(max, current));
+    }
+}
@@ -0,0 +1,175 @@
+package com.hyperativa.card.config;
+
+import com.hyperativa.card.dto.SpanDto;
+import com.hyperativa.card.dto.TraceDto;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Per-request span recording on the request thread, started by {@link TracingFilter}.
+ * Code anywhere in the request path can time a phase with {@link #start(String)}
+ * or {@link #span(String, Supplier)}; both are no-ops outside a traced request.
+ *
+ * Phases recorded by the application: filter-chain (servlet filters up to the
+ * controller, including jwt), handler, serialization, transaction.begin,
+ * transaction.commit, connection and sql. Work done for a request on another
+ * thread, such as the coalesced /cards/exists query, is recorded there with
+ * {@link #capture()} and copied into the request with {@link #attach(Capture)}.
+ */
+public final class RequestTracing {
+
+    // Spans kept per trace; an upload issues a few per batch, so long ones are cut short
+    static final int MAX_SPANS = 256;
+
+    private static final ThreadLocal<ActiveTrace> CURRENT = new ThreadLocal<>();
+    private static final Span NO_OP = () -> { };
+
+    private RequestTracing() {
+    }
+
+    /**
+     * A running span; closing it records its duration.
+     */
+    @FunctionalInterface
+    public interface Span extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    public static Span start(String name) {
+        ActiveTrace trace = CURRENT.get();
+        if (trace == null) {
+            return NO_OP;
+        }
+        long start = System.nanoTime();
+        return () -> trace.add(name, start, System.nanoTime());
+    }
+
+    public static <T> T span(String name, Supplier<T> work) {
+        try (Span ignored = start(name)) {
+            return work.get();
+        }
+    }
+
+    /**
+     * Records the spans of the current thread until the capture is closed. For
+     * worker threads that run work on behalf of traced requests; the thread must
+     * not have a trace of its own.
+     */
+    public static Capture capture() {
+        ActiveTrace trace = new ActiveTrace(null);
+        CURRENT.set(trace);
+        return new Capture(trace);
+    }
+
+    /**
+     * Copies the spans of a closed capture into the current trace, if any.
+     */
+    public static void attach(Capture capture) {
+        ActiveTrace trace = CURRENT.get();
+        if (trace != null && capture != null) {
+            trace.addAll(capture.trace);
+        }
+    }
+
+    /**
+     * Spans recorded by {@link #capture()}; read-only once closed, so any number
+     * of requests can attach it.
+     */
+    public static final class Capture implements AutoCloseable {
+        private final ActiveTrace trace;
+
+        private Capture(ActiveTrace trace) {
+            this.trace = trace;
+        }
+
+        @Override
+        public void close() {
+            CURRENT.remove();
+        }
+    }
+
+    static ActiveTrace begin(TraceContext parent) {
+        ActiveTrace trace = new ActiveTrace(parent != null ? parent : TraceContext.newRoot());
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    static ActiveTrace current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Spans of one request. Only the request thread adds spans; the trace is read
+     * after the request completes. Spans past {@link #MAX_SPANS} are only counted.
+     */
+    static final class ActiveTrace {
+        private final TraceContext context;
+        private final String spanId = TraceContext.newSpanId();
+        private final long startNanos = System.nanoTime();
+        private final long startEpochMillis = System.currentTimeMillis();
+        private final List<long[]> timings = new ArrayList<>(8);
+        private final List<String> names = new ArrayList<>(8);
+        private int droppedSpans;
+
+        // Phase marks set by TracingConfig's interceptor, body advice and transaction listener
+        long handlerStart;
+        long bodyWriteStart;
+        long transactionMark;
+
+        ActiveTrace(TraceContext context) {
+            this.context = context;
+        }
+
+        void add(String name, long start, long end) {
+            if (names.size() >= MAX_SPANS) {
+                droppedSpans++;
+                return;
+            }
+            names.add(name);
+            timings.add(new long[]{start, end});
+        }
+
+        void addAll(ActiveTrace other) {
+            for (int i = 0; i < other.names.size(); i++) {
+                long[] timing = other.timings.get(i);
+                // A request that joined shared work late only sees the part after its own start
+                if (timing[1] >= startNanos) {
+                    add(other.names.get(i), Math.max(timing[0], startNanos), timing[1]);
+                }
+            }
+        }
+
+        String traceparent() {
+            return context.traceparent(spanId);
+        }
+
+        long startNanos() {
+            return startNanos;
+        }
+
+        TraceDto toDto(String method, String uri, int status, long durationNanos) {
+            List<SpanDto> spans = new ArrayList<>(names.size());
+            for (int i = 0; i < names.size(); i++) {
+                long[] timing = timings.get(i);
+                spans.add(new SpanDto(names.get(i), (timing[0] - startNanos) / 1000,
+                        (timing[1] - timing[0]) / 1000));
+            }
+            spans.sort(Comparator.comparingLong(SpanDto::getOffsetMicros));
+            return new TraceDto(context.traceId(), spanId, context.parentSpanId(), method, uri, status,
+                    Instant.ofEpochMilli(startEpochMillis), durationNanos / 1000, spans, droppedSpans);
+        }
+    }
+}
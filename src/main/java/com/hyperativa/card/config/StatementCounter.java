@@ -0,0 +1,178 @@
+package com.hyperativa.card.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.util.Locale;
+
+/**
+ * Per-scope count of database round trips on the current thread, fed by
+ * {@link StatementCountingDataSource}. A scope is opened around a unit of work
+ * (a request by {@link StatementCountingFilter}, an upload by the upload service)
+ * and sees every statement and commit issued while it is open, including those
+ * of nested scopes. Outside a scope nothing is counted. Work done for the scope on
+ * another thread, such as the coalesced /cards/exists query, is counted there in a
+ * scope of its own and added with {@link #add(Scope)}.
+ *
+ * A JDBC batch is one statement: it is one round trip however many rows it carries.
+ */
+public final class StatementCounter {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private StatementCounter() {
+    }
+
+    public enum Kind {
+        QUERY, INSERT, UPDATE, OTHER;
+
+        /**
+         * Classifies a statement by its leading keyword.
+         */
+        public static Kind of(String sql) {
+            if (sql == null) {
+                return OTHER;
+            }
+            int start = 0;
+            while (start < sql.length() && (Character.isWhitespace(sql.charAt(start)) || sql.charAt(start) == '(')) {
+                start++;
+            }
+            int end = start;
+            while (end < sql.length() && Character.isLetter(sql.charAt(end))) {
+                end++;
+            }
+            return switch (sql.substring(start, end).toLowerCase(Locale.ROOT)) {
+                case "select", "with" -> QUERY;
+                case "insert", "merge", "replace" -> INSERT;
+                case "update", "delete" -> UPDATE;
+                default -> OTHER;
+            };
+        }
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    public static Scope open(String name) {
+        Scope scope = new Scope(name, CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * Adds the counts of a scope closed on another thread to the current scope
+     * and its parents. A shared scope is added in full to each scope it served.
+     */
+    public static void add(Scope other) {
+        if (other == null) {
+            return;
+        }
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            for (int i = 0; i < scope.counts.length; i++) {
+                scope.counts[i] += other.counts[i];
+            }
+            scope.commits += other.commits;
+        }
+    }
+
+    static void statement(Kind kind) {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.counts[kind.ordinal()]++;
+        }
+    }
+
+    static void commit() {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.commits++;
+        }
+    }
+
+    /**
+     * Counts of one unit of work. Closing it makes the enclosing scope current again.
+     */
+    public static final class Scope implements AutoCloseable {
+        private final String name;
+        private final Scope parent;
+        private final long[] counts = new long[Kind.values().length];
+        private long commits;
+        private boolean closed;
+
+        private Scope(String name, Scope parent) {
+            this.name = name;
+            this.parent = parent;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public long count(Kind kind) {
+            return counts[kind.ordinal()];
+        }
+
+        public long queries() {
+            return count(Kind.QUERY);
+        }
+
+        public long inserts() {
+            return count(Kind.INSERT);
+        }
+
+        public long updates() {
+            return count(Kind.UPDATE);
+        }
+
+        public long statements() {
+            long total = 0;
+            for (long count : counts) {
+                total += count;
+            }
+            return total;
+        }
+
+        public long commits() {
+            return commits;
+        }
+
+        /**
+         * Records this scope's counts as db.scope.statements (tagged by kind) and
+         * db.scope.commits distributions, tagged with scope and the given tags.
+         */
+        public void publish(MeterRegistry registry, Tags tags) {
+            Tags scopeTags = tags.and("scope", name);
+            for (Kind kind : Kind.values()) {
+                DistributionSummary.builder("db.scope.statements")
+                        .description("Statements issued by one request or upload")
+                        .tags(scopeTags.and("kind", kind.name().toLowerCase(Locale.ROOT)))
+                        .register(registry)
+                        .record(count(kind));
+            }
+            DistributionSummary.builder("db.scope.commits")
+                    .description("Commits issued by one request or upload")
+                    .tags(scopeTags)
+                    .register(registry)
+                    .record(commits);
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (parent != null) {
+                CURRENT.set(parent);
+            } else {
+                CURRENT.remove();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return name + "[queries=" + queries() + ", inserts=" + inserts() + ", updates=" + updates()
+                    + ", other=" + count(Kind.OTHER) + ", commits=" + commits + "]";
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.hyperativa.card.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Per-request statement and commit counts (db.scope.statements, db.scope.commits).
+ * The filter runs first, ahead of tracing, the concurrency limit and Spring
+ * Security, so statements issued while authenticating are counted too. The DataSource side is installed by
+ * {@link DataSourceConfig}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.db.statement-counting.enabled", havingValue = "true", matchIfMissing = true)
+public class StatementCountingConfig {
+
+    @Bean
+    public FilterRegistrationBean<StatementCountingFilter> statementCountingFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<StatementCountingFilter> registration =
+                new FilterRegistrationBean<>(new StatementCountingFilter(meterRegistry));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 3);
+        return registration;
+    }
+}
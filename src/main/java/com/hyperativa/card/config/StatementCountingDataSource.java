@@ -0,0 +1,99 @@
+package com.hyperativa.card.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Feeds the open {@link StatementCounter} scope: every execute* call is one
+ * statement, classified by its SQL, and every commit is counted, including the
+ * implicit commit of a statement run in auto-commit mode. Connections taken
+ * outside a scope are returned unwrapped.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    public StatementCountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = super.getConnection();
+        return StatementCounter.isActive() ? counted(connection) : connection;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Connection connection = super.getConnection(username, password);
+        return StatementCounter.isActive() ? counted(connection) : connection;
+    }
+
+    private static Connection counted(Connection target) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(target, method, args);
+                    switch (method.getName()) {
+                        case "commit" -> StatementCounter.commit();
+                        case "prepareStatement", "prepareCall" -> {
+                            return counted((PreparedStatement) result, target, (String) args[0]);
+                        }
+                        case "createStatement" -> {
+                            return counted((Statement) result, target, null);
+                        }
+                        default -> {
+                        }
+                    }
+                    return result;
+                });
+    }
+
+    private static Statement counted(Statement target, Connection connection, String preparedSql) {
+        Class<?> type = target instanceof CallableStatement ? CallableStatement.class
+                : target instanceof PreparedStatement ? PreparedStatement.class
+                : Statement.class;
+        return (Statement) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                new InvocationHandler() {
+                    // Plain statements only know their SQL when it is executed or batched
+                    private String batchSql;
+
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        String name = method.getName();
+                        if (name.equals("addBatch") && args != null && args.length == 1 && batchSql == null) {
+                            batchSql = (String) args[0];
+                        }
+                        Object result = StatementCountingDataSource.invoke(target, method, args);
+                        if (name.startsWith("execute")) {
+                            String sql = preparedSql != null ? preparedSql
+                                    : args != null && args.length > 0 && args[0] instanceof String text ? text
+                                    : batchSql;
+                            StatementCounter.statement(StatementCounter.Kind.of(sql));
+                            if (connection.getAutoCommit()) {
+                                StatementCounter.commit();
+                            }
+                            if (name.equals("executeBatch")) {
+                                batchSql = null;
+                            }
+                        }
+                        return result;
+                    }
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+}
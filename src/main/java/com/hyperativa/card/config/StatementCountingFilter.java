@@ -0,0 +1,42 @@
+package com.hyperativa.card.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Opens a "request" {@link StatementCounter} scope around each request and
+ * publishes its counts tagged with method and the matched URI pattern.
+ * Only the request thread is counted, plus the coalesced card lookup query that
+ * answered it; other work an asynchronous handler does on another thread is not.
+ */
+public class StatementCountingFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry registry;
+
+    public StatementCountingFilter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        StatementCounter.Scope scope = StatementCounter.open("request");
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            scope.close();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            scope.publish(registry, Tags.of("method", request.getMethod(),
+                    "uri", pattern != null ? pattern.toString() : "UNKNOWN"));
+        }
+    }
+}
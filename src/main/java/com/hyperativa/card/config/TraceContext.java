@@ -0,0 +1,78 @@
+package com.hyperativa.card.config;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * W3C trace context (https://www.w3.org/TR/trace-context/): the trace id shared
+ * by every hop, the id of the caller's span and the sampled flag.
+ *
+ * @param traceId      32 lowercase hex characters
+ * @param parentSpanId 16 lowercase hex characters, or null for a new root trace
+ * @param sampled      the caller's sampled flag
+ */
+public record TraceContext(String traceId, String parentSpanId, boolean sampled) {
+
+    public static final String HEADER = "traceparent";
+
+    private static final String INVALID_TRACE_ID = "0".repeat(32);
+    private static final String INVALID_SPAN_ID = "0".repeat(16);
+
+    public static TraceContext newRoot() {
+        return new TraceContext(randomHex(2), null, true);
+    }
+
+    /**
+     * Parses a version 00 traceparent header ("00-traceid-parentid-flags"); returns
+     * null for a missing or malformed header, which starts a new trace.
+     */
+    public static TraceContext parse(String header) {
+        if (header == null || header.length() != 55) {
+            return null;
+        }
+        String[] parts = header.split("-");
+        if (parts.length != 4 || !parts[0].equals("00")
+                || !isHex(parts[1], 32) || parts[1].equals(INVALID_TRACE_ID)
+                || !isHex(parts[2], 16) || parts[2].equals(INVALID_SPAN_ID)
+                || !isHex(parts[3], 2)) {
+            return null;
+        }
+        return new TraceContext(parts[1], parts[2], (Integer.parseInt(parts[3], 16) & 1) == 1);
+    }
+
+    public static String newSpanId() {
+        return randomHex(1);
+    }
+
+    /**
+     * Header value naming {@code spanId} as the parent of the next hop.
+     */
+    public String traceparent(String spanId) {
+        return "00-" + traceId + "-" + spanId + (sampled ? "-01" : "-00");
+    }
+
+    private static boolean isHex(String value, int length) {
+        if (value.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String randomHex(int longs) {
+        StringBuilder hex = new StringBuilder(longs * 16);
+        for (int i = 0; i < longs; i++) {
+            long value;
+            do {
+                value = ThreadLocalRandom.current().nextLong();
+            } while (value == 0);
+            String part = Long.toHexString(value);
+            hex.append("0".repeat(16 - part.length())).append(part);
+        }
+        return hex.toString();
+    }
+}
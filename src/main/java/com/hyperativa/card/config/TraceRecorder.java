@@ -0,0 +1,63 @@
+package com.hyperativa.card.config;
+
+import com.hyperativa.card.dto.TraceDto;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Keeps the most recent slow traces in a fixed-size ring buffer. Writers claim a
+ * slot with one atomic increment and never block; once the ring is full the
+ * oldest trace is overwritten.
+ */
+public class TraceRecorder {
+
+    private final AtomicReferenceArray<TraceDto> ring;
+    private final int mask;
+    private final AtomicLong sequence = new AtomicLong();
+    private final long slowThresholdNanos;
+
+    /**
+     * @param capacity rounded up to a power of two
+     */
+    public TraceRecorder(int capacity, Duration slowThreshold) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.ring = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    public boolean isSlow(long durationNanos) {
+        return durationNanos >= slowThresholdNanos;
+    }
+
+    public void record(TraceDto trace) {
+        ring.set((int) (sequence.getAndIncrement() & mask), trace);
+    }
+
+    /**
+     * Slow traces, newest first, at least {@code minDurationMicros} long.
+     */
+    public List<TraceDto> recent(int limit, long minDurationMicros) {
+        List<TraceDto> result = new ArrayList<>();
+        long last = sequence.get() - 1;
+        for (long seq = last; seq >= 0 && seq > last - ring.length() && result.size() < limit; seq--) {
+            TraceDto trace = ring.get((int) (seq & mask));
+            if (trace != null && trace.getDurationMicros() >= minDurationMicros) {
+                result.add(trace);
+            }
+        }
+        return result;
+    }
+
+    public long getRecordedCount() {
+        return sequence.get();
+    }
+
+    public int getCapacity() {
+        return ring.length();
+    }
+}
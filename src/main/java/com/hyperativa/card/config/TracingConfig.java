@@ -0,0 +1,151 @@
+package com.hyperativa.card.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.time.Duration;
+
+/**
+ * In-process request tracing (GET /admin/traces). The filter runs before the
+ * concurrency limit and Spring Security so the filter-chain phase covers both;
+ * the interceptor and body advice split the rest into handler and serialization,
+ * and the transaction listener times transaction begin and commit.
+ * The DataSource side (connection, sql) is installed by {@link DataSourceConfig}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class TracingConfig implements WebMvcConfigurer {
+
+    @Bean
+    public TraceRecorder traceRecorder(@Value("${app.tracing.buffer-size:256}") int bufferSize,
+                                       @Value("${app.tracing.slow-threshold:200ms}") Duration slowThreshold) {
+        return new TraceRecorder(bufferSize, slowThreshold);
+    }
+
+    @Bean
+    public FilterRegistrationBean<TracingFilter> tracingFilter(TraceRecorder traceRecorder,
+                                                               @Value("${app.tracing.propagate:true}") boolean propagate) {
+        FilterRegistrationBean<TracingFilter> registration =
+                new FilterRegistrationBean<>(new TracingFilter(traceRecorder, propagate));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 2);
+        return registration;
+    }
+
+    @Bean
+    public TransactionExecutionListener tracingTransactionListener() {
+        return new TransactionExecutionListener() {
+            @Override
+            public void beforeBegin(TransactionExecution transaction) {
+                mark();
+            }
+
+            @Override
+            public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+                span("transaction.begin");
+            }
+
+            @Override
+            public void beforeCommit(TransactionExecution transaction) {
+                mark();
+            }
+
+            @Override
+            public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+                span("transaction.commit");
+            }
+
+            private void mark() {
+                RequestTracing.ActiveTrace trace = RequestTracing.current();
+                if (trace != null) {
+                    trace.transactionMark = System.nanoTime();
+                }
+            }
+
+            private void span(String name) {
+                RequestTracing.ActiveTrace trace = RequestTracing.current();
+                if (trace != null && trace.transactionMark != 0) {
+                    trace.add(name, trace.transactionMark, System.nanoTime());
+                    trace.transactionMark = 0;
+                }
+            }
+        };
+    }
+
+    @Bean
+    public TracingBodyAdvice tracingBodyAdvice() {
+        return new TracingBodyAdvice();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                RequestTracing.ActiveTrace trace = RequestTracing.current();
+                if (trace != null) {
+                    trace.handlerStart = System.nanoTime();
+                    trace.add("filter-chain", trace.startNanos(), trace.handlerStart);
+                }
+                return true;
+            }
+
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                        Object handler, Exception ex) {
+                RequestTracing.ActiveTrace trace = RequestTracing.current();
+                if (trace == null || trace.handlerStart == 0) {
+                    return;
+                }
+                long now = System.nanoTime();
+                if (trace.bodyWriteStart != 0) {
+                    trace.add("serialization", trace.bodyWriteStart, now);
+                } else {
+                    trace.add("handler", trace.handlerStart, now);
+                }
+            }
+        });
+    }
+
+    /**
+     * Called right before the message converter writes the body: ends the
+     * handler phase and starts serialization.
+     */
+    @ControllerAdvice
+    static class TracingBodyAdvice implements ResponseBodyAdvice<Object> {
+
+        @Override
+        public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+            return RequestTracing.isActive();
+        }
+
+        @Override
+        public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                      Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                      ServerHttpRequest request, ServerHttpResponse response) {
+            RequestTracing.ActiveTrace trace = RequestTracing.current();
+            if (trace != null && trace.handlerStart != 0 && trace.bodyWriteStart == 0) {
+                trace.bodyWriteStart = System.nanoTime();
+                trace.add("handler", trace.handlerStart, trace.bodyWriteStart);
+            }
+            return body;
+        }
+    }
+}
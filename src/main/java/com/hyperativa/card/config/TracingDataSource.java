@@ -0,0 +1,74 @@
+package com.hyperativa.card.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Records "connection" (pool acquire) and "sql" (statement execution) spans for
+ * traced requests. Connections taken outside a trace, such as by startup tasks,
+ * are returned unwrapped. Uploads and exports are traced like any request; their
+ * traces keep the first {@link RequestTracing#MAX_SPANS} spans and count the rest.
+ */
+public class TracingDataSource extends DelegatingDataSource {
+
+    public TracingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!RequestTracing.isActive()) {
+            return super.getConnection();
+        }
+        try (RequestTracing.Span ignored = RequestTracing.start("connection")) {
+            return traced(super.getConnection());
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (!RequestTracing.isActive()) {
+            return super.getConnection(username, password);
+        }
+        try (RequestTracing.Span ignored = RequestTracing.start("connection")) {
+            return traced(super.getConnection(username, password));
+        }
+    }
+
+    private static Connection traced(Connection target) {
+        return proxy(Connection.class, target, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, boolean statement) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            try {
+                if (statement && method.getName().startsWith("execute")) {
+                    try (RequestTracing.Span ignored = RequestTracing.start("sql")) {
+                        return method.invoke(target, args);
+                    }
+                }
+                Object result = method.invoke(target, args);
+                if (method.getName().equals("prepareCall")) {
+                    return result;
+                }
+                if (!statement && result instanceof PreparedStatement prepared) {
+                    return proxy(PreparedStatement.class, prepared, true);
+                }
+                if (!statement && result instanceof Statement plain && !(result instanceof PreparedStatement)) {
+                    return proxy(Statement.class, plain, true);
+                }
+                return result;
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        });
+    }
+}
@@ -0,0 +1,93 @@
+package com.hyperativa.card.config;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Starts a {@link RequestTracing} trace for every request and hands it to the
+ * {@link TraceRecorder} when the response completes, including asynchronous
+ * responses such as /auth/login. With propagation on, an incoming W3C
+ * traceparent header is continued and the response carries this request's one.
+ */
+public class TracingFilter extends OncePerRequestFilter {
+
+    private final TraceRecorder recorder;
+    private final boolean propagate;
+
+    public TracingFilter(TraceRecorder recorder, boolean propagate) {
+        this.recorder = recorder;
+        this.propagate = propagate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        TraceContext parent = propagate ? TraceContext.parse(request.getHeader(TraceContext.HEADER)) : null;
+        RequestTracing.ActiveTrace trace = RequestTracing.begin(parent);
+        if (propagate) {
+            response.setHeader(TraceContext.HEADER, trace.traceparent());
+        }
+
+        Completion completion = new Completion(trace, request, response);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestTracing.end();
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(completion);
+            } else {
+                completion.run();
+            }
+        }
+    }
+
+    private final class Completion implements AsyncListener {
+        private final RequestTracing.ActiveTrace trace;
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        Completion(RequestTracing.ActiveTrace trace, HttpServletRequest request, HttpServletResponse response) {
+            this.trace = trace;
+            this.request = request;
+            this.response = response;
+        }
+
+        void run() {
+            long duration = System.nanoTime() - trace.startNanos();
+            if (done.compareAndSet(false, true) && recorder.isSlow(duration)) {
+                recorder.record(trace.toDto(request.getMethod(), request.getRequestURI(),
+                        response.getStatus(), duration));
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.hyperativa.card.config;
+
+import com.hyperativa.card.dto.UploadResultDto;
+import com.hyperativa.card.security.JwtTokenProvider;
+import com.hyperativa.card.service.impl.LoteFileParser;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Warm-up before the application reports readiness. Spring Boot publishes
+ * ReadinessState.ACCEPTING_TRAFFIC only after all runners finish, so the first
+ * routed requests find a full connection pool and JIT-compiled hot paths:
+ * JWT signing/verification and LOTE line parsing.
+ * Each phase is recorded as a startup step (GET /admin/startup).
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@ConditionalOnProperty(name = "app.warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmupRunner.class);
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final DataSource dataSource;
+    private final JwtTokenProvider tokenProvider;
+    private final ApplicationStartup applicationStartup;
+    private final int iterations;
+
+    public WarmupRunner(DataSource dataSource,
+                        JwtTokenProvider tokenProvider,
+                        ConfigurableApplicationContext applicationContext,
+                        @Value("${app.warmup.iterations:5000}") int iterations) {
+        this.dataSource = dataSource;
+        this.tokenProvider = tokenProvider;
+        this.applicationStartup = applicationContext.getApplicationStartup();
+        this.iterations = iterations;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+
+        phase("card.warmup.connection-pool", this::fillConnectionPool);
+        phase("card.warmup.jwt", this::exerciseJwt);
+        phase("card.warmup.lote-parser", this::exerciseLoteParser);
+
+        log.info("Warm-up finished in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void phase(String name, Runnable action) {
+        StartupStep step = applicationStartup.start(name);
+        try {
+            action.run();
+        } catch (Exception e) {
+            // A failed warm-up must never block startup
+            log.warn("Warm-up phase {} failed: {}", name, e.getMessage());
+            step.tag("error", String.valueOf(e.getMessage()));
+        } finally {
+            step.end();
+        }
+    }
+
+    /**
+     * Borrows minimumIdle connections at once so the pool opens them now,
+     * not on the first requests.
+     */
+    private void fillConnectionPool() {
+        int target = 1;
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+                target = Math.min(hikari.getMinimumIdle(), hikari.getMaximumPoolSize());
+            }
+        } catch (SQLException e) {
+            log.debug("Could not inspect the connection pool: {}", e.getMessage());
+        }
+
+        List<Connection> connections = new ArrayList<>(target);
+        try {
+            for (int i = 0; i < target; i++) {
+                Connection connection = dataSource.getConnection();
+                connections.add(connection);
+                connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not open connection " + (connections.size() + 1), e);
+        } finally {
+            for (Connection connection : connections) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    log.debug("Error returning warm-up connection: {}", e.getMessage());
+                }
+            }
+            log.debug("Warm-up opened {} pooled connections", connections.size());
+        }
+    }
+
+    private void exerciseJwt() {
+        String token = tokenProvider.generateToken("warmup", "USER");
+        for (int i = 0; i < iterations; i++) {
+            if (tokenProvider.parseToken(token).isEmpty()) {
+                throw new IllegalStateException("Freshly issued token did not verify");
+            }
+        }
+    }
+
+    private void exerciseLoteParser() {
+        String header = "DESAFIO-HYPERATIVA           20180524LOTE0001000100";
+        String footer = "LOTE0001000100";
+        long checksum = 0;
+        for (int i = 0; i < iterations; i++) {
+            UploadResultDto result = new UploadResultDto();
+            LoteFileParser.parseHeader(header, result);
+            String line = "C" + (i % 100 + 1) + "     " + (4456897900000000L + i);
+            if (LoteFileParser.isDetailLine(line)) {
+                checksum += LoteFileParser.parseCardNumber(line);
+            }
+            if (LoteFileParser.isFooterLine(footer)) {
+                LoteFileParser.parseFooter(footer, result);
+            }
+        }
+        log.debug("Warm-up parsed {} LOTE lines (checksum {})", iterations, checksum);
+    }
+}
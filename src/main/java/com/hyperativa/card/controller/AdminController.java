@@ -0,0 +1,122 @@
+package com.hyperativa.card.controller;
+
+import com.hyperativa.card.config.ConnectionPoolRegistry;
+import com.hyperativa.card.config.TraceRecorder;
+import com.hyperativa.card.dto.PoolStatsDto;
+import com.hyperativa.card.dto.StartupReportDto;
+import com.hyperativa.card.dto.StartupStepDto;
+import com.hyperativa.card.dto.TraceDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin")
+@Tag(name = "Admin", description = "Operational diagnostics (ADMIN only)")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminController {
+
+    private final ConfigurableApplicationContext applicationContext;
+    private final ConnectionPoolRegistry poolRegistry;
+    private final TraceRecorder traceRecorder;
+
+    public AdminController(ConfigurableApplicationContext applicationContext,
+                           ConnectionPoolRegistry poolRegistry,
+                           ObjectProvider<TraceRecorder> traceRecorder) {
+        this.applicationContext = applicationContext;
+        this.poolRegistry = poolRegistry;
+        // Absent when app.tracing.enabled=false
+        this.traceRecorder = traceRecorder.getIfAvailable();
+    }
+
+    @GetMapping("/traces")
+    @Operation(
+            summary = "Slow request traces",
+            description = "Most recent requests slower than app.tracing.slow-threshold, newest first, with the " +
+                         "time spent in the filter chain (including JWT verification), handler, transaction " +
+                         "begin/commit, connection acquire, SQL and serialization."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Slow traces",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = TraceDto.class)))),
+            @ApiResponse(responseCode = "404", description = "Request tracing is not enabled", content = @Content)
+    })
+    public ResponseEntity<List<TraceDto>> traces(
+            @Parameter(description = "Maximum number of traces returned", example = "50")
+            @RequestParam(defaultValue = "50") int limit,
+            @Parameter(description = "Only traces at least this long, in milliseconds", example = "500")
+            @RequestParam(defaultValue = "0") long minMillis) {
+        if (traceRecorder == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(traceRecorder.recent(Math.max(1, Math.min(limit, 1000)), minMillis * 1000));
+    }
+
+    @GetMapping("/pools")
+    @Operation(
+            summary = "Connection pools",
+            description = "Active, idle and pending connections plus the acquire-time histogram of the " +
+                         "read (API) and bulk (upload/export) pools."
+    )
+    @ApiResponse(responseCode = "200", description = "Pool telemetry",
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = PoolStatsDto.class))))
+    public ResponseEntity<List<PoolStatsDto>> pools() {
+        return ResponseEntity.ok(poolRegistry.snapshot());
+    }
+
+    @GetMapping("/startup")
+    @Operation(
+            summary = "Startup steps",
+            description = "Slowest steps recorded while the application started, including database " +
+                         "initialization, Hibernate bootstrap, bean creation and the warm-up phase."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Recorded steps",
+                    content = @Content(schema = @Schema(implementation = StartupReportDto.class))),
+            @ApiResponse(responseCode = "404", description = "Startup recording is not enabled", content = @Content)
+    })
+    public ResponseEntity<StartupReportDto> startup(
+            @Parameter(description = "Maximum number of steps returned", example = "50")
+            @RequestParam(defaultValue = "50") int limit) {
+        if (!(applicationContext.getApplicationStartup() instanceof BufferingApplicationStartup startup)) {
+            return ResponseEntity.notFound().build();
+        }
+
+        List<StartupTimeline.TimelineEvent> events = startup.getBufferedTimeline().getEvents();
+        List<StartupStepDto> steps = events.stream()
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(Math.max(1, Math.min(limit, 1000)))
+                .map(AdminController::toDto)
+                .toList();
+        return ResponseEntity.ok(new StartupReportDto(events.size(), steps));
+    }
+
+    private static StartupStepDto toDto(StartupTimeline.TimelineEvent event) {
+        StartupStep step = event.getStartupStep();
+        Map<String, String> tags = new LinkedHashMap<>();
+        step.getTags().forEach(tag -> tags.put(tag.getKey(), tag.getValue()));
+        return new StartupStepDto(step.getId(), step.getParentId(), step.getName(),
+                event.getDuration().toMillis(), tags);
+    }
+}
@@ -2,6 +2,7 @@ package com.hyperativa.card.controller;
 
 import com.hyperativa.card.dto.AuthResponse;
 import com.hyperativa.card.dto.LoginRequest;
+import com.hyperativa.card.dto.RefreshRequest;
 import com.hyperativa.card.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,6 +13,9 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 @RestController
 @RequestMapping("/auth")
 @Tag(name = "Authentication", description = "JWT authentication endpoint")
@@ -35,15 +39,32 @@ public class AuthController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Login successful",
                     content = @Content(schema = @Schema(implementation = AuthResponse.class))),
-            @ApiResponse(responseCode = "401", description = "Invalid credentials", content = @Content)
+            @ApiResponse(responseCode = "401", description = "Invalid credentials", content = @Content),
+            @ApiResponse(responseCode = "503", description = "Too many concurrent logins", content = @Content)
     })
-    public ResponseEntity<?> login(@RequestBody LoginRequest request) {
-        try {
-            AuthResponse response = authService.login(request);
-            return ResponseEntity.ok(response);
-        } catch (RuntimeException e) {
-            return ResponseEntity.status(401).body(e.getMessage());
-        }
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody LoginRequest request) {
+        // Password check runs off the request thread; the servlet request completes asynchronously
+        return authService.loginAsync(request)
+                .<ResponseEntity<?>>thenApply(ResponseEntity::ok)
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    return ResponseEntity.status(401).body(cause.getMessage());
+                });
     }
-}
 
+    @PostMapping("/refresh")
+    @Operation(
+            summary = "Refresh access token",
+            description = "Exchanges a refresh token for a new access token without a password check. " +
+                         "The refresh token is single use: the response carries its replacement. " +
+                         "Presenting an already used refresh token revokes every token of that login."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Token refreshed",
+                    content = @Content(schema = @Schema(implementation = AuthResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Invalid, expired or revoked refresh token", content = @Content)
+    })
+    public ResponseEntity<AuthResponse> refresh(@RequestBody RefreshRequest request) {
+        return ResponseEntity.ok(authService.refresh(request.getRefreshToken()));
+    }
+}
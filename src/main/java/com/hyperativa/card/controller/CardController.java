@@ -1,9 +1,14 @@
 package com.hyperativa.card.controller;
 
 import com.hyperativa.card.dto.CardDto;
+import com.hyperativa.card.dto.CardExportFormat;
+import com.hyperativa.card.dto.CardPageDto;
+import com.hyperativa.card.dto.CardSortKey;
 import com.hyperativa.card.dto.UploadResultDto;
+import com.hyperativa.card.service.CardExportService;
 import com.hyperativa.card.service.CardService;
 import com.hyperativa.card.service.FileUploadService;
+import com.hyperativa.card.service.IdempotencyService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,11 +16,19 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.security.Principal;
+import java.time.LocalDateTime;
 import java.util.Map;
 
 @RestController
@@ -25,33 +38,62 @@ public class CardController {
 
     private final CardService service;
     private final FileUploadService fileUploadService;
+    private final IdempotencyService idempotencyService;
+    private final CardExportService exportService;
 
-    public CardController(CardService service, FileUploadService fileUploadService) {
+    public CardController(CardService service,
+                          FileUploadService fileUploadService,
+                          IdempotencyService idempotencyService,
+                          CardExportService exportService) {
         this.service = service;
         this.fileUploadService = fileUploadService;
+        this.idempotencyService = idempotencyService;
+        this.exportService = exportService;
     }
 
     @PostMapping
     @Operation(
             summary = "Create new card",
-            description = "Inserts a new card in the system. Returns the ID of the created card."
+            description = "Inserts a new card in the system. Returns the ID of the created card.\n\n" +
+                         "Send an `Idempotency-Key` header to make retries safe: a retry with the same key " +
+                         "and body returns the original response without inserting again."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Card created successfully",
                     content = @Content(schema = @Schema(implementation = CardDto.class))),
-            @ApiResponse(responseCode = "400", description = "Invalid data", content = @Content)
+            @ApiResponse(responseCode = "400", description = "Invalid data", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Request with the same Idempotency-Key still in progress",
+                    content = @Content),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key reused with a different body",
+                    content = @Content)
     })
     public ResponseEntity<CardDto> create(
+            @Parameter(description = "Client-generated key that identifies retries of the same request")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @io.swagger.v3.oas.annotations.parameters.RequestBody(
                     description = "Card data to be created",
                     required = true,
                     content = @Content(schema = @Schema(implementation = CardDto.class))
             )
-            @RequestBody CardDto dto) {
-        CardDto saved = service.save(dto);
+            @RequestBody CardDto dto,
+            @Parameter(hidden = true) Principal principal) {
+        if (!StringUtils.hasText(idempotencyKey)) {
+            return ResponseEntity.ok(service.save(dto));
+        }
+
+        CardDto saved = idempotencyService.execute(principal.getName(), idempotencyKey,
+                fingerprint(dto), CardDto.class, () -> service.save(dto));
         return ResponseEntity.ok(saved);
     }
 
+    /**
+     * Canonical form of the create request body: only the fields that affect the
+     * result, in a fixed order, so equivalent JSON produces the same fingerprint.
+     */
+    private static String fingerprint(CardDto dto) {
+        return "{\"cardNumber\":" + dto.getCardNumber() + "}";
+    }
+
     @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @Operation(
             summary = "Upload TXT file with multiple cards",
@@ -95,4 +137,67 @@ public class CardController {
         Long id = service.findIdByCardNumber(cardNumber);
         return ResponseEntity.ok(Map.of("id", id));
     }
+
+    @GetMapping
+    @Operation(
+            summary = "List cards",
+            description = "Lists cards with keyset pagination: each page seeks directly past the last row " +
+                         "of the previous one, so latency does not grow with the page number. " +
+                         "Pass `nextCursor` from the response as `cursor` to fetch the next page, " +
+                         "keeping the same sort and filters. Card numbers are masked."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page returned",
+                    content = @Content(schema = @Schema(implementation = CardPageDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or filter", content = @Content)
+    })
+    public ResponseEntity<CardPageDto> list(
+            @Parameter(description = "Sort key: id or cardNumber", example = "id")
+            @RequestParam(value = "sort", defaultValue = "id") String sort,
+            @Parameter(description = "Opaque cursor returned as nextCursor by the previous page")
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(description = "Page size (1-500)", example = "50")
+            @RequestParam(value = "limit", defaultValue = "50") int limit,
+            @Parameter(description = "Leading digits of the card number (BIN)", example = "445689")
+            @RequestParam(value = "binPrefix", required = false) String binPrefix,
+            @Parameter(description = "Created at or after (ISO date-time)", example = "2024-01-01T00:00:00")
+            @RequestParam(value = "createdFrom", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @Parameter(description = "Created before (ISO date-time)", example = "2024-02-01T00:00:00")
+            @RequestParam(value = "createdTo", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo) {
+        CardPageDto page = service.list(CardSortKey.fromValue(sort), cursor, limit,
+                binPrefix, createdFrom, createdTo);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Export all cards",
+            description = "Streams every card as NDJSON or CSV, optionally gzip-compressed. " +
+                         "Rows are read through a database cursor and written directly to the response, " +
+                         "so memory usage stays flat regardless of table size. Requires role ADMIN."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed"),
+            @ApiResponse(responseCode = "400", description = "Unsupported format", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Not an administrator", content = @Content)
+    })
+    public void export(
+            @Parameter(description = "Output format: ndjson or csv", example = "ndjson")
+            @RequestParam(value = "format", defaultValue = "ndjson") String format,
+            @Parameter(description = "Compress the output with gzip")
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip,
+            HttpServletResponse response) throws IOException {
+
+        CardExportFormat exportFormat = CardExportFormat.fromValue(format);
+        String fileName = "cards." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+
+        response.setContentType(gzip ? "application/gzip" : exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+
+        exportService.export(exportFormat, gzip, response.getOutputStream());
+    }
 }
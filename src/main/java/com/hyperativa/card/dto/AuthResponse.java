@@ -19,6 +19,13 @@ public class AuthResponse {
     @Schema(description = "Token type", example = "Bearer")
     private String type = "Bearer";
 
+    @Schema(description = "Access token lifetime in seconds", example = "900")
+    private long expiresIn;
+
+    @Schema(description = "Opaque refresh token for POST /auth/refresh (single use)",
+            example = "q3Jx0bq8Wb6cQvXbq1Lr0YyF0m2YxH0b1lqk9Yp5x5Q")
+    private String refreshToken;
+
     @Schema(description = "Username", example = "admin")
     private String username;
 
@@ -30,5 +37,11 @@ public class AuthResponse {
         this.username = username;
         this.role = role;
     }
+
+    public AuthResponse(String token, long expiresIn, String refreshToken, String username, String role) {
+        this(token, username, role);
+        this.expiresIn = expiresIn;
+        this.refreshToken = refreshToken;
+    }
 }
 
@@ -0,0 +1,25 @@
+package com.hyperativa.card.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Page of cards with a continuation cursor")
+public class CardPageDto {
+
+    @Schema(description = "Cards in this page")
+    private List<CardSummaryDto> items = new ArrayList<>();
+
+    @Schema(description = "Opaque cursor for the next page, absent on the last page",
+            example = "aWQ6MTAw")
+    private String nextCursor;
+}
@@ -0,0 +1,34 @@
+package com.hyperativa.card.dto;
+
+import java.util.Locale;
+
+/**
+ * Columns the card listing can seek on. Both are unique and indexed,
+ * so "column > last seen value" alone identifies the next page.
+ */
+public enum CardSortKey {
+
+    ID("id"),
+    CARD_NUMBER("card_number");
+
+    private final String column;
+
+    CardSortKey(String column) {
+        this.column = column;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public static CardSortKey fromValue(String value) {
+        // Accepts "id", "cardNumber" and "card_number"
+        String normalized = value.trim().replace("_", "").toLowerCase(Locale.ROOT);
+        for (CardSortKey key : values()) {
+            if (key.name().replace("_", "").toLowerCase(Locale.ROOT).equals(normalized)) {
+                return key;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sort key: " + value);
+    }
+}
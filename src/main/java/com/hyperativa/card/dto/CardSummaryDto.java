@@ -0,0 +1,26 @@
+package com.hyperativa.card.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Card entry in a listing page")
+public class CardSummaryDto {
+
+    @Schema(description = "Unique card ID in the system", example = "1")
+    private Long id;
+
+    @Schema(description = "Card number with the middle digits masked", example = "445689******9999")
+    private String maskedCardNumber;
+
+    @Schema(description = "Creation timestamp", example = "2024-01-15T10:30:00")
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,56 @@
+package com.hyperativa.card.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Connection pool telemetry")
+public class PoolStatsDto {
+
+    @Schema(description = "Pool name", example = "read")
+    private String name;
+
+    @Schema(description = "Connections in use", example = "3")
+    private int active;
+
+    @Schema(description = "Idle connections", example = "7")
+    private int idle;
+
+    @Schema(description = "Threads waiting for a connection", example = "0")
+    private int pending;
+
+    @Schema(description = "Open connections", example = "10")
+    private int total;
+
+    @Schema(description = "Configured minimum idle connections", example = "10")
+    private int minimumIdle;
+
+    @Schema(description = "Current maximum pool size", example = "20")
+    private int maximumPoolSize;
+
+    @Schema(description = "Connections handed out since startup", example = "15230")
+    private long acquireCount;
+
+    @Schema(description = "Acquire attempts that timed out", example = "0")
+    private long timeoutCount;
+
+    @Schema(description = "Median acquire time upper bound (µs)", example = "2")
+    private long acquireP50Micros;
+
+    @Schema(description = "95th percentile acquire time upper bound (µs)", example = "16")
+    private long acquireP95Micros;
+
+    @Schema(description = "99th percentile acquire time upper bound (µs)", example = "512")
+    private long acquireP99Micros;
+
+    @Schema(description = "Acquire-time histogram: bucket upper bound -> count")
+    private Map<String, Long> acquireHistogram;
+}
@@ -0,0 +1,19 @@
+package com.hyperativa.card.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Refresh token request")
+public class RefreshRequest {
+
+    @Schema(description = "Refresh token returned by /auth/login or a previous /auth/refresh",
+            example = "q3Jx0bq8Wb6cQvXbq1Lr0YyF0m2YxH0b1lqk9Yp5x5Q", required = true)
+    private String refreshToken;
+}
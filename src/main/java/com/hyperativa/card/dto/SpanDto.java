@@ -0,0 +1,24 @@
+package com.hyperativa.card.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "One timed phase of a request")
+public class SpanDto {
+
+    @Schema(description = "Phase name", example = "sql")
+    private String name;
+
+    @Schema(description = "Start, in microseconds after the request started", example = "1840")
+    private long offsetMicros;
+
+    @Schema(description = "Duration in microseconds", example = "912")
+    private long durationMicros;
+}
@@ -0,0 +1,23 @@
+package com.hyperativa.card.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Recorded startup steps, slowest first")
+public class StartupReportDto {
+
+    @Schema(description = "Steps recorded in total", example = "1530")
+    private int recordedSteps;
+
+    @Schema(description = "Slowest steps")
+    private List<StartupStepDto> steps;
+}
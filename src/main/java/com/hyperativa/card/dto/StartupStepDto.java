@@ -0,0 +1,32 @@
+package com.hyperativa.card.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "One recorded application startup step")
+public class StartupStepDto {
+
+    @Schema(description = "Step id", example = "42")
+    private long id;
+
+    @Schema(description = "Id of the enclosing step, if any", example = "7")
+    private Long parentId;
+
+    @Schema(description = "Step name", example = "spring.beans.instantiate")
+    private String name;
+
+    @Schema(description = "Duration in milliseconds", example = "812")
+    private long durationMs;
+
+    @Schema(description = "Step tags, e.g. the bean name", example = "{\"beanName\": \"entityManagerFactory\"}")
+    private Map<String, String> tags;
+}
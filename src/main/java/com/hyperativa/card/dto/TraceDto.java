@@ -0,0 +1,48 @@
+package com.hyperativa.card.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Phase breakdown of one slow request")
+public class TraceDto {
+
+    @Schema(description = "W3C trace id", example = "4bf92f3577b34da6a3ce929d0e0e4736")
+    private String traceId;
+
+    @Schema(description = "Span id of this request", example = "00f067aa0ba902b7")
+    private String spanId;
+
+    @Schema(description = "Span id of the caller, from the incoming traceparent header", example = "a3ce929d0e0e4736")
+    private String parentSpanId;
+
+    @Schema(description = "HTTP method", example = "GET")
+    private String method;
+
+    @Schema(description = "Request URI", example = "/api/cards/exists")
+    private String uri;
+
+    @Schema(description = "Response status", example = "200")
+    private int status;
+
+    @Schema(description = "When the request started")
+    private Instant startedAt;
+
+    @Schema(description = "Total duration in microseconds", example = "251200")
+    private long durationMicros;
+
+    @Schema(description = "Recorded phases in start order; nested phases overlap their parent")
+    private List<SpanDto> spans;
+
+    @Schema(description = "Phases not kept because the trace reached its span limit", example = "0")
+    private int droppedSpans;
+}
@@ -0,0 +1,25 @@
+package com.hyperativa.card.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.hyperativa.card.BatchWrite")
+@Label("Card Batch Write")
+@Category({"Card API", "Upload"})
+@Description("Duplicate checks and inserts for one batch of uploaded cards")
+@StackTrace(false)
+public class BatchWriteEvent extends Event {
+
+    @Label("Batch Size")
+    public int size;
+
+    @Label("Saved")
+    public int saved;
+
+    @Label("Duplicates")
+    public int duplicates;
+}
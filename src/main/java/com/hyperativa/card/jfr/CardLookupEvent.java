@@ -0,0 +1,29 @@
+package com.hyperativa.card.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Off unless enabled by the recording settings (see jfr/card.jfc): one event
+ * per /cards/exists call. The card number is never recorded.
+ */
+@Name("com.hyperativa.card.CardLookup")
+@Label("Card Lookup")
+@Category({"Card API", "Database"})
+@Description("Card id lookup by card number")
+@Enabled(false)
+@StackTrace(false)
+public class CardLookupEvent extends Event {
+
+    @Label("Found")
+    public boolean found;
+
+    @Label("Coalesced")
+    @Description("Served by a batched lookup shared with concurrent requests")
+    public boolean coalesced;
+}
@@ -0,0 +1,157 @@
+package com.hyperativa.card.jfr;
+
+import jdk.jfr.ValueDescriptor;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Summarizes the Card API events (com.hyperativa.card.*) of a JFR recording:
+ * count and latency percentiles per event type, totals of the numeric fields,
+ * how often each boolean field was true and the values of the status field.
+ * Only depends on the JDK:
+ *
+ * java -cp target/classes com.hyperativa.card.jfr.JfrSummary card.jfr
+ */
+public final class JfrSummary {
+
+    static final String EVENT_PREFIX = "com.hyperativa.card.";
+
+    private JfrSummary() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: JfrSummary <recording.jfr>");
+            System.exit(1);
+        }
+        List<EventSummary> summaries = summarize(Path.of(args[0]));
+        if (summaries.isEmpty()) {
+            System.out.println("No " + EVENT_PREFIX + "* events in " + args[0]
+                    + " (was the recording started with settings=jfr/card.jfc?)");
+        }
+        summaries.forEach(summary -> System.out.println(summary.format()));
+    }
+
+    public static List<EventSummary> summarize(Path recording) throws IOException {
+        Map<String, EventSummary> summaries = new TreeMap<>();
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                String name = event.getEventType().getName();
+                if (name.startsWith(EVENT_PREFIX)) {
+                    summaries.computeIfAbsent(name, EventSummary::new).add(event);
+                }
+            }
+        }
+        return List.copyOf(summaries.values());
+    }
+
+    /**
+     * Aggregates of one event type.
+     */
+    public static final class EventSummary {
+        private final String name;
+        private long[] durations = new long[64];
+        private int count;
+        private final Map<String, Long> sums = new LinkedHashMap<>();
+        private final Map<String, Long> trueCounts = new LinkedHashMap<>();
+        private final Map<String, Long> statuses = new TreeMap<>();
+
+        EventSummary(String name) {
+            this.name = name;
+        }
+
+        void add(RecordedEvent event) {
+            if (count == durations.length) {
+                durations = Arrays.copyOf(durations, count * 2);
+            }
+            durations[count++] = event.getDuration().toNanos();
+
+            for (ValueDescriptor field : event.getFields()) {
+                String fieldName = field.getName();
+                if (fieldName.equals("startTime") || fieldName.equals("duration")) {
+                    continue;
+                }
+                switch (field.getTypeName()) {
+                    case "int", "long" -> sums.merge(fieldName, event.getLong(fieldName), Long::sum);
+                    case "boolean" -> trueCounts.merge(fieldName, event.getBoolean(fieldName) ? 1L : 0L, Long::sum);
+                    case "java.lang.String" -> {
+                        if (fieldName.equals("status") && event.getString(fieldName) != null) {
+                            statuses.merge(event.getString(fieldName), 1L, Long::sum);
+                        }
+                    }
+                    default -> {
+                        // eventThread and other object fields are not summarized
+                    }
+                }
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public Map<String, Long> getSums() {
+            return sums;
+        }
+
+        public Map<String, Long> getTrueCounts() {
+            return trueCounts;
+        }
+
+        public Map<String, Long> getStatuses() {
+            return statuses;
+        }
+
+        /**
+         * Duration at the given percentile (0-100), in nanoseconds.
+         */
+        public long percentileNanos(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(durations, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+            return sorted[Math.max(0, Math.min(index, count - 1))];
+        }
+
+        String format() {
+            StringBuilder out = new StringBuilder(String.format(Locale.ROOT,
+                    "%-40s count %8d  p50 %9.3f ms  p90 %9.3f ms  p99 %9.3f ms  max %9.3f ms",
+                    name.substring(EVENT_PREFIX.length()), count, millis(percentileNanos(50)),
+                    millis(percentileNanos(90)), millis(percentileNanos(99)), millis(percentileNanos(100))));
+            if (!sums.isEmpty()) {
+                out.append("\n    totals:");
+                sums.forEach((field, sum) -> out.append(' ').append(field).append('=').append(sum));
+            }
+            if (!trueCounts.isEmpty()) {
+                out.append("\n    true:  ");
+                trueCounts.forEach((field, trues) -> out.append(String.format(Locale.ROOT, " %s=%d (%.1f%%)",
+                        field, trues, 100.0 * trues / count)));
+            }
+            if (!statuses.isEmpty()) {
+                out.append("\n    status:");
+                statuses.forEach((status, times) -> out.append(' ').append(status).append('=').append(times));
+            }
+            return out.toString();
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
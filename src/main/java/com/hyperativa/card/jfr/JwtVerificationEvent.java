@@ -0,0 +1,29 @@
+package com.hyperativa.card.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Off unless enabled by the recording settings (see jfr/card.jfc): one event
+ * per authenticated request.
+ */
+@Name("com.hyperativa.card.JwtVerification")
+@Label("JWT Verification")
+@Category({"Card API", "Security"})
+@Description("Bearer token resolution in the authentication filter")
+@Enabled(false)
+@StackTrace(false)
+public class JwtVerificationEvent extends Event {
+
+    @Label("Valid")
+    public boolean valid;
+
+    @Label("Cached")
+    @Description("Answered by the verified-token cache without checking the signature")
+    public boolean cached;
+}
@@ -0,0 +1,38 @@
+package com.hyperativa.card.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One LOTE file upload, from the first line read to the result; the event's
+ * start time and duration mark when the upload started and finished.
+ */
+@Name("com.hyperativa.card.Upload")
+@Label("LOTE Upload")
+@Category({"Card API", "Upload"})
+@Description("Processing of one uploaded LOTE file")
+@StackTrace(false)
+public class UploadEvent extends Event {
+
+    @Label("Lote")
+    public String loteName;
+
+    @Label("Declared Count")
+    public int declaredCount;
+
+    @Label("Processed")
+    public int processed;
+
+    @Label("Duplicates")
+    public int duplicates;
+
+    @Label("Errors")
+    public int errors;
+
+    @Label("Status")
+    public String status;
+}
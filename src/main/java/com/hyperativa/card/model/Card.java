@@ -6,6 +6,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
+
 @Entity
 @Table(name = "cards")
 @Getter
@@ -21,8 +23,15 @@ public class Card {
     @Column(name = "card_number", nullable = false, unique = true)
     private Long cardNumber;
 
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
     public Card(Long cardNumber) {
         this.cardNumber = cardNumber;
     }
 }
-
@@ -0,0 +1,172 @@
+package com.hyperativa.card.repository;
+
+import com.hyperativa.card.dto.CardSortKey;
+import com.hyperativa.card.model.Card;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Plain JDBC access to the cards table for read paths and bulk inserts where
+ * loading {@link com.hyperativa.card.model.Card} entities into the persistence
+ * context would be wasteful.
+ */
+@Repository
+public class CardJdbcRepository {
+
+    private static final String INSERT = "INSERT INTO cards (card_number, created_at) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CardJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Streams every card, ordered by id, through a forward-only read-only cursor.
+     * Only {@code fetchSize} rows are held by the driver at a time
+     * (MySQL needs useCursorFetch=true on the JDBC URL for this).
+     */
+    public void streamAll(int fetchSize, CardRowHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "SELECT id, card_number FROM cards ORDER BY id",
+                    ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, (RowCallbackHandler) rs -> handler.handle(rs.getLong(1), rs.getLong(2)));
+    }
+
+    /**
+     * Keyset (seek) pagination: returns up to {@code limit} cards whose sort column is
+     * greater than {@code after}, using the index on that column instead of an OFFSET scan.
+     * BIN prefixes are matched as numeric ranges so the card_number index stays usable.
+     *
+     * @param after        last value of the sort column on the previous page, or null for the first page
+     * @param binPrefix    leading digits of the card number, or null
+     * @param createdFrom  inclusive lower bound on created_at, or null
+     * @param createdTo    exclusive upper bound on created_at, or null
+     */
+    public List<Card> findPage(CardSortKey sortKey, Long after, String binPrefix,
+                               LocalDateTime createdFrom, LocalDateTime createdTo, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT id, card_number, created_at FROM cards WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+
+        if (after != null) {
+            sql.append(" AND ").append(sortKey.getColumn()).append(" > ?");
+            args.add(after);
+        }
+        if (binPrefix != null) {
+            appendBinPrefixRanges(sql, args, binPrefix);
+        }
+        if (createdFrom != null) {
+            sql.append(" AND created_at >= ?");
+            args.add(Timestamp.valueOf(createdFrom));
+        }
+        if (createdTo != null) {
+            sql.append(" AND created_at < ?");
+            args.add(Timestamp.valueOf(createdTo));
+        }
+        sql.append(" ORDER BY ").append(sortKey.getColumn()).append(" LIMIT ?");
+        args.add(limit);
+
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> {
+            Timestamp createdAt = rs.getTimestamp(3);
+            return new Card(rs.getLong(1), rs.getLong(2), createdAt != null ? createdAt.toLocalDateTime() : null);
+        }, args.toArray());
+    }
+
+    /**
+     * Returns which of the given card numbers are already stored, in one query.
+     */
+    public Set<Long> findExistingCardNumbers(Collection<Long> cardNumbers) {
+        if (cardNumbers.isEmpty()) {
+            return Set.of();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(cardNumbers.size(), "?"));
+        Set<Long> existing = new HashSet<>();
+        jdbcTemplate.query("SELECT card_number FROM cards WHERE card_number IN (" + placeholders + ")",
+                (RowCallbackHandler) rs -> existing.add(rs.getLong(1)), cardNumbers.toArray());
+        return existing;
+    }
+
+    /**
+     * Inserts the card numbers as one JDBC batch in a single transaction, so the
+     * whole batch is one round trip plus one commit. If any number already exists
+     * the batch is rolled back and a DataIntegrityViolationException is thrown.
+     */
+    @Transactional
+    public void insertAll(List<Long> cardNumbers) {
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT, cardNumbers, cardNumbers.size(), (statement, cardNumber) -> {
+            statement.setLong(1, cardNumber);
+            statement.setTimestamp(2, createdAt);
+        });
+    }
+
+    /**
+     * Inserts one card number in its own statement.
+     */
+    public void insert(long cardNumber) {
+        jdbcTemplate.update(INSERT, cardNumber, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    /**
+     * Card numbers are stored as BIGINT, so a prefix becomes one range per
+     * possible card length (13 to 19 digits, ISO/IEC 7812).
+     */
+    private void appendBinPrefixRanges(StringBuilder sql, List<Object> args, String binPrefix) {
+        long prefix = Long.parseLong(binPrefix);
+        int prefixLength = binPrefix.length();
+
+        sql.append(" AND (");
+        boolean first = true;
+        for (int length = Math.max(13, prefixLength); length <= 19; length++) {
+            long scale = pow10(length - prefixLength);
+            long low = multiplyCapped(prefix, scale);
+            long high = multiplyCapped(prefix + 1, scale) - 1;
+            if (low == Long.MAX_VALUE) {
+                break;
+            }
+            sql.append(first ? "" : " OR ").append("card_number BETWEEN ? AND ?");
+            args.add(low);
+            args.add(high);
+            first = false;
+        }
+        sql.append(first ? "1 = 0)" : ")");
+    }
+
+    private static long pow10(int exponent) {
+        long result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= 10;
+        }
+        return result;
+    }
+
+    private static long multiplyCapped(long a, long b) {
+        try {
+            return Math.multiplyExact(a, b);
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    @FunctionalInterface
+    public interface CardRowHandler {
+        void handle(long id, long cardNumber);
+    }
+}
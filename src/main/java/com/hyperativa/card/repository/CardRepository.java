@@ -2,9 +2,13 @@ package com.hyperativa.card.repository;
 
 import com.hyperativa.card.model.Card;
 import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface CardRepository extends JpaRepository<Card, Long> {
     Optional<Card> findByCardNumber(Long cardNumber);
-}
 
+    List<Card> findByCardNumberIn(Collection<Long> cardNumbers);
+}
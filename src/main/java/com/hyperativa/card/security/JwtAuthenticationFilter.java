@@ -1,5 +1,7 @@
 package com.hyperativa.card.security;
 
+import com.hyperativa.card.config.RequestTracing;
+import com.hyperativa.card.jfr.JwtVerificationEvent;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,15 +17,18 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.Optional;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
     private final JwtTokenProvider tokenProvider;
+    private final VerifiedTokenCache tokenCache;
 
-    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider) {
+    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, VerifiedTokenCache tokenCache) {
         this.tokenProvider = tokenProvider;
+        this.tokenCache = tokenCache;
     }
 
     @Override
@@ -33,19 +38,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
-                String role = tokenProvider.getRoleFromToken(jwt);
-
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        username,
-                        null,
-                        Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role))
-                );
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-                log.debug("User authenticated: {} with role: {}", username, role);
+            if (StringUtils.hasText(jwt)) {
+                // Signature is verified at most once per token while it stays cached
+                RequestTracing.span("jwt", () -> resolve(jwt))
+                        .ifPresent(principal -> authenticate(principal, request));
             }
         } catch (Exception ex) {
             log.error("Could not authenticate user", ex);
@@ -54,6 +50,36 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private Optional<JwtPrincipal> resolve(String jwt) {
+        JwtVerificationEvent event = new JwtVerificationEvent();
+        if (!event.isEnabled()) {
+            return tokenCache.resolve(jwt, tokenProvider::parseToken);
+        }
+
+        event.begin();
+        boolean[] verified = {false};
+        Optional<JwtPrincipal> principal = tokenCache.resolve(jwt, token -> {
+            verified[0] = true;
+            return tokenProvider.parseToken(token);
+        });
+        event.valid = principal.isPresent();
+        event.cached = !verified[0];
+        event.commit();
+        return principal;
+    }
+
+    private void authenticate(JwtPrincipal principal, HttpServletRequest request) {
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                principal.username(),
+                null,
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + principal.role()))
+        );
+        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        log.debug("User authenticated: {} with role: {}", principal.username(), principal.role());
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -0,0 +1,9 @@
+package com.hyperativa.card.security;
+
+import java.time.Instant;
+
+/**
+ * Claims of a JWT whose signature has already been verified.
+ */
+public record JwtPrincipal(String username, String role, Instant expiresAt) {
+}
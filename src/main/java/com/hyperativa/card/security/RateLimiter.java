@@ -0,0 +1,133 @@
+package com.hyperativa.card.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-principal token buckets for the card endpoints, with separate limits per
+ * endpoint and role. Each bucket is a single AtomicLong holding the GCRA
+ * "theoretical arrival time", so an allowed request costs one map lookup and
+ * one compare-and-set, without locks or allocation.
+ * Limits are configured as {@code ROLE=<requests per second>:<burst>} pairs;
+ * a role without a limit is not throttled, and roles other than ADMIN use the USER limit.
+ */
+@Component
+public class RateLimiter {
+
+    private static final int MAX_TRACKED_PRINCIPALS = 100_000;
+
+    public enum Endpoint {
+        CARDS_EXISTS, CARDS_UPLOAD, CARDS;
+
+        /**
+         * Maps a path below the context path to its limit group, or null if it is not rate limited.
+         */
+        public static Endpoint of(String path) {
+            if (path.equals("/cards/exists")) {
+                return CARDS_EXISTS;
+            }
+            if (path.equals("/cards/upload")) {
+                return CARDS_UPLOAD;
+            }
+            if (path.equals("/cards") || path.startsWith("/cards/")) {
+                return CARDS;
+            }
+            return null;
+        }
+    }
+
+    private final boolean enabled;
+    private final Limit[][] limits = new Limit[Endpoint.values().length][2]; // [endpoint][USER, ADMIN]
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public RateLimiter(@Value("${app.ratelimit.enabled:true}") boolean enabled,
+                       @Value("${app.ratelimit.cards-exists:USER=50:100,ADMIN=200:400}") String existsLimits,
+                       @Value("${app.ratelimit.cards-upload:USER=0.2:2,ADMIN=1:5}") String uploadLimits,
+                       @Value("${app.ratelimit.cards:USER=20:40,ADMIN=100:200}") String cardsLimits) {
+        this(enabled, existsLimits, uploadLimits, cardsLimits, System::nanoTime);
+    }
+
+    RateLimiter(boolean enabled, String existsLimits, String uploadLimits, String cardsLimits,
+                LongSupplier nanoClock) {
+        this.enabled = enabled;
+        this.nanoClock = nanoClock;
+        parse(Endpoint.CARDS_EXISTS, existsLimits);
+        parse(Endpoint.CARDS_UPLOAD, uploadLimits);
+        parse(Endpoint.CARDS, cardsLimits);
+    }
+
+    /**
+     * Takes one token from the principal's bucket.
+     *
+     * @return 0 if the request is allowed, otherwise the nanoseconds until it would be
+     */
+    public long tryAcquire(Endpoint endpoint, boolean admin, String principal) {
+        if (!enabled) {
+            return 0;
+        }
+        Limit limit = limits[endpoint.ordinal()][admin ? 1 : 0];
+        return limit == null ? 0 : limit.tryAcquire(principal, nanoClock.getAsLong());
+    }
+
+    private void parse(Endpoint endpoint, String spec) {
+        if (!StringUtils.hasText(spec)) {
+            return;
+        }
+        for (String entry : spec.split(",")) {
+            String[] roleAndLimit = entry.trim().split("=");
+            String[] rateAndBurst = roleAndLimit.length == 2 ? roleAndLimit[1].split(":") : new String[0];
+            if (rateAndBurst.length != 2) {
+                throw new IllegalArgumentException("Invalid rate limit '" + entry + "', expected ROLE=rate:burst");
+            }
+            double ratePerSecond = Double.parseDouble(rateAndBurst[0].trim());
+            int burst = Integer.parseInt(rateAndBurst[1].trim());
+            if (ratePerSecond <= 0) {
+                continue; // unlimited
+            }
+            int role = roleAndLimit[0].trim().equalsIgnoreCase("ADMIN") ? 1 : 0;
+            limits[endpoint.ordinal()][role] = new Limit(ratePerSecond, Math.max(1, burst));
+        }
+    }
+
+    private static final class Limit {
+        private final long emissionIntervalNanos;
+        private final long burstToleranceNanos;
+        private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+        Limit(double ratePerSecond, int burst) {
+            this.emissionIntervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond));
+            this.burstToleranceNanos = emissionIntervalNanos * burst;
+        }
+
+        long tryAcquire(String principal, long now) {
+            AtomicLong bucket = buckets.get(principal);
+            if (bucket == null) {
+                if (buckets.size() >= MAX_TRACKED_PRINCIPALS) {
+                    // Buckets whose arrival time has passed are full again and can be dropped
+                    buckets.values().removeIf(idle -> idle.get() <= now);
+                }
+                bucket = buckets.computeIfAbsent(principal, key -> new AtomicLong(now));
+            }
+
+            while (true) {
+                long arrival = bucket.get();
+                long next = Math.max(arrival, now) + emissionIntervalNanos;
+                long allowedAt = next - burstToleranceNanos;
+                if (allowedAt > now) {
+                    return allowedAt - now;
+                }
+                if (bucket.compareAndSet(arrival, next)) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.hyperativa.card.security;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -13,6 +14,9 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 @Configuration
 @EnableWebSecurity
@@ -20,25 +24,37 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final JwtTokenProvider tokenProvider;
+    private final VerifiedTokenCache tokenCache;
+    private final RateLimiter rateLimiter;
     private final JwtAuthenticationEntryPoint authenticationEntryPoint;
     private final JwtAccessDeniedHandler accessDeniedHandler;
+    private final int managementPort;
+    private final int serverPort;
 
     public SecurityConfig(JwtTokenProvider tokenProvider,
+                         VerifiedTokenCache tokenCache,
+                         RateLimiter rateLimiter,
                          JwtAuthenticationEntryPoint authenticationEntryPoint,
-                         JwtAccessDeniedHandler accessDeniedHandler) {
+                         JwtAccessDeniedHandler accessDeniedHandler,
+                         @Value("${management.server.port:-1}") int managementPort,
+                         @Value("${server.port:8080}") int serverPort) {
         this.tokenProvider = tokenProvider;
+        this.tokenCache = tokenCache;
+        this.rateLimiter = rateLimiter;
         this.authenticationEntryPoint = authenticationEntryPoint;
         this.accessDeniedHandler = accessDeniedHandler;
+        this.managementPort = managementPort;
+        this.serverPort = serverPort;
     }
 
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
-        return new JwtAuthenticationFilter(tokenProvider);
+        return new JwtAuthenticationFilter(tokenProvider, tokenCache);
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.auth.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 
     @Bean
@@ -59,18 +75,34 @@ public class SecurityConfig {
                 )
                 .authorizeHttpRequests(auth -> auth
                         // Public endpoints
-                        .requestMatchers("/auth/login").permitAll()
+                        .requestMatchers("/auth/login", "/auth/refresh").permitAll()
                         .requestMatchers("/swagger-ui/**", "/api-docs/**", "/swagger-ui.html").permitAll()
                         .requestMatchers("/h2-console/**").permitAll()
+                        .requestMatchers("/actuator/health/**").permitAll()
+                        // Metrics are open to scrapers only on an internal management port
+                        .requestMatchers(new AndRequestMatcher(internalManagementPort(),
+                                new AntPathRequestMatcher("/actuator/prometheus"))).permitAll()
+                        .requestMatchers("/actuator/prometheus").hasRole("ADMIN")
                         // All other endpoints require authentication
                         .anyRequest().authenticated()
                 )
-                .addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class)
+                // Not a bean on purpose: it must only run inside the chain, after the JWT filter
+                .addFilterAfter(new RateLimitFilter(rateLimiter), JwtAuthenticationFilter.class);
 
         // Allow frames for H2 Console
         http.headers(headers -> headers.frameOptions(frame -> frame.sameOrigin()));
 
         return http.build();
     }
+
+    /**
+     * Requests received on management.server.port when it is set apart from the
+     * application port; that port is expected to be reachable only internally.
+     */
+    private RequestMatcher internalManagementPort() {
+        boolean separate = managementPort > 0 && managementPort != serverPort;
+        return request -> separate && request.getLocalPort() == managementPort;
+    }
 }
 
@@ -0,0 +1,43 @@
+package com.hyperativa.card.security;
+
+import com.hyperativa.card.model.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA listener on {@link User} that evicts the user from {@link UserCredentialsCache}.
+ * Eviction happens at flush and again after commit, so a login that reloads the
+ * row before the commit cannot leave the old password or role cached.
+ */
+@Component
+public class UserCacheInvalidationListener {
+
+    // Provider, because Hibernate also instantiates this listener in slices without the cache
+    private final ObjectProvider<UserCredentialsCache> cache;
+
+    public UserCacheInvalidationListener(ObjectProvider<UserCredentialsCache> cache) {
+        this.cache = cache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void userChanged(User user) {
+        cache.ifAvailable(c -> {
+            c.invalidate(user);
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        c.invalidate(user);
+                    }
+                });
+            }
+        });
+    }
+}
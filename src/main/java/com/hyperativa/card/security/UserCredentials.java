@@ -0,0 +1,15 @@
+package com.hyperativa.card.security;
+
+import com.hyperativa.card.model.User;
+
+/**
+ * Immutable snapshot of the fields login needs, so cached users are never
+ * shared JPA entities.
+ */
+public record UserCredentials(Long id, String username, String passwordHash, String role, boolean enabled) {
+
+    public static UserCredentials of(User user) {
+        return new UserCredentials(user.getId(), user.getUsername(), user.getPassword(), user.getRole(),
+                Boolean.TRUE.equals(user.getEnabled()));
+    }
+}
@@ -0,0 +1,175 @@
+package com.hyperativa.card.security;
+
+import com.hyperativa.card.model.User;
+import com.hyperativa.card.repository.UserRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded LRU cache of user credentials by username, so frequent logins and
+ * refreshes skip the users table. Entries are evicted by
+ * {@link UserCacheInvalidationListener} whenever a user row is written through JPA;
+ * the TTL bounds staleness for changes made directly in the database.
+ * Unknown usernames are not cached.
+ *
+ * Loads run outside the lock, so a load that overlaps an invalidation would put
+ * back the credentials read before the change. Every invalidation bumps a
+ * generation counter and a load is only cached if no invalidation happened
+ * while it ran.
+ */
+@Component
+public class UserCredentialsCache implements MeterBinder {
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final LinkedHashMap<String, Entry> entries;
+    private long generation; // guarded by entries
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    @Autowired
+    public UserCredentialsCache(UserRepository userRepository,
+                                @Value("${app.auth.user-cache.enabled:true}") boolean enabled,
+                                @Value("${app.auth.user-cache.max-size:1000}") int maxSize,
+                                @Value("${app.auth.user-cache.ttl:5m}") Duration ttl) {
+        this(userRepository, enabled, maxSize, ttl, System::currentTimeMillis);
+    }
+
+    UserCredentialsCache(UserRepository userRepository, boolean enabled, int maxSize,
+                         Duration ttl, LongSupplier clock) {
+        this.userRepository = userRepository;
+        this.enabled = enabled && maxSize > 0;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+        // Access-ordered: the eldest entry is the least recently used
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public Optional<UserCredentials> findByUsername(String username) {
+        if (username == null) {
+            return Optional.empty();
+        }
+        if (!enabled) {
+            return userRepository.findByUsername(username).map(UserCredentials::of);
+        }
+
+        long now = clock.getAsLong();
+        long loadGeneration;
+        synchronized (entries) {
+            loadGeneration = generation;
+            Entry entry = entries.get(username);
+            if (entry != null) {
+                if (entry.expiresAtMillis > now) {
+                    hits.increment();
+                    return Optional.of(entry.credentials);
+                }
+                entries.remove(username);
+            }
+        }
+
+        // Load outside the lock; a concurrent miss for the same user just loads twice
+        misses.increment();
+        Optional<UserCredentials> loaded = userRepository.findByUsername(username).map(UserCredentials::of);
+        loaded.ifPresent(credentials -> {
+            synchronized (entries) {
+                // An invalidation during the load may have made these credentials stale
+                if (generation == loadGeneration) {
+                    entries.put(username, new Entry(credentials, now + ttlMillis));
+                }
+            }
+        });
+        return loaded;
+    }
+
+    /**
+     * Drops the user's entry, also under a previous username if it was renamed.
+     */
+    public void invalidate(User user) {
+        synchronized (entries) {
+            generation++;
+            boolean removed = entries.remove(user.getUsername()) != null;
+            if (user.getId() != null) {
+                removed |= entries.values().removeIf(entry -> user.getId().equals(entry.credentials.id()));
+            }
+            if (removed) {
+                invalidations.increment();
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            generation++;
+            entries.clear();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getInvalidationCount() {
+        return invalidations.sum();
+    }
+
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("auth.user.cache.requests", hits, LongAdder::sum)
+                .description("Credential lookups served by the user cache or loaded from the database")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("auth.user.cache.requests", misses, LongAdder::sum)
+                .description("Credential lookups served by the user cache or loaded from the database")
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("auth.user.cache.invalidations", invalidations, LongAdder::sum)
+                .description("Cached users dropped because their row was written")
+                .register(registry);
+        Gauge.builder("auth.user.cache.hit.ratio", this, UserCredentialsCache::getHitRatio)
+                .description("Share of credential lookups served from the cache since startup")
+                .register(registry);
+        Gauge.builder("auth.user.cache.size", this, UserCredentialsCache::size)
+                .description("Users currently cached")
+                .register(registry);
+    }
+
+    private record Entry(UserCredentials credentials, long expiresAtMillis) {
+    }
+}
@@ -0,0 +1,201 @@
+package com.hyperativa.card.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache of already verified JWTs so clients that reuse one token for many calls
+ * pay for HMAC verification once. Keys are SHA-256 digests, so raw tokens are
+ * never retained. Positive entries never outlive the token's exp claim; invalid
+ * tokens are cached briefly so a flood of bad tokens is cheap to reject.
+ * The cache is split into independently locked LRU stripes to avoid contention.
+ * Invalid tokens have their own, smaller LRU in each stripe, so a flood of them
+ * cannot evict the valid tokens of well-behaved clients.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final boolean enabled;
+    private final long maxTtlMillis;
+    private final long negativeTtlMillis;
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    private final LongSupplier clock;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @Autowired
+    public VerifiedTokenCache(@Value("${app.jwt.cache.enabled:true}") boolean enabled,
+                              @Value("${app.jwt.cache.max-size:10000}") int maxSize,
+                              @Value("${app.jwt.cache.stripes:16}") int stripes,
+                              @Value("${app.jwt.cache.max-ttl:5m}") Duration maxTtl,
+                              @Value("${app.jwt.cache.negative-ttl:5s}") Duration negativeTtl,
+                              @Value("${app.jwt.cache.negative-max-size:1000}") int negativeMaxSize) {
+        this(enabled, maxSize, stripes, maxTtl, negativeTtl, negativeMaxSize, System::currentTimeMillis);
+    }
+
+    VerifiedTokenCache(boolean enabled, int maxSize, int stripes,
+                       Duration maxTtl, Duration negativeTtl, int negativeMaxSize, LongSupplier clock) {
+        // Round up to a power of two so the stripe index is a mask
+        int stripeCount = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        int perStripe = Math.max(1, maxSize / stripeCount);
+        // Zero turns negative caching off
+        int negativePerStripe = negativeMaxSize <= 0 ? 0 : Math.max(1, negativeMaxSize / stripeCount);
+
+        this.enabled = enabled && maxSize > 0;
+        this.maxTtlMillis = maxTtl.toMillis();
+        this.negativeTtlMillis = negativeTtl.toMillis();
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            this.stripes[i] = new Stripe(perStripe, negativePerStripe);
+        }
+        this.stripeMask = stripeCount - 1;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the cached verification result for the token, or runs the verifier
+     * and caches its result.
+     */
+    public Optional<JwtPrincipal> resolve(String token, Function<String, Optional<JwtPrincipal>> verifier) {
+        if (!enabled) {
+            return verifier.apply(token);
+        }
+
+        TokenDigest digest = TokenDigest.of(token);
+        Stripe stripe = stripes[(int) digest.first & stripeMask];
+        long now = clock.getAsLong();
+
+        Entry cached = stripe.get(digest, now);
+        if (cached != null) {
+            if (cached.principal == null) {
+                negativeHits.increment();
+                return Optional.empty();
+            }
+            hits.increment();
+            return Optional.of(cached.principal);
+        }
+
+        misses.increment();
+        Optional<JwtPrincipal> verified = verifier.apply(token);
+        long expiresAt = verified
+                .map(principal -> Math.min(principal.expiresAt().toEpochMilli(), now + maxTtlMillis))
+                .orElse(now + negativeTtlMillis);
+        if (expiresAt > now) {
+            stripe.put(digest, new Entry(verified.orElse(null), expiresAt));
+        }
+        return verified;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getNegativeHitCount() {
+        return negativeHits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public double getHitRatio() {
+        long served = hits.sum() + negativeHits.sum();
+        long total = served + misses.sum();
+        return total == 0 ? 0.0 : (double) served / total;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private static final class Stripe {
+        private final LinkedHashMap<TokenDigest, Entry> valid;
+        private final LinkedHashMap<TokenDigest, Entry> invalid;
+        private final boolean cachesInvalid;
+
+        Stripe(int maxValid, int maxInvalid) {
+            this.valid = lru(maxValid);
+            this.invalid = lru(maxInvalid);
+            this.cachesInvalid = maxInvalid > 0;
+        }
+
+        private static LinkedHashMap<TokenDigest, Entry> lru(int maxEntries) {
+            // Access-ordered: the eldest entry is the least recently used
+            return new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<TokenDigest, Entry> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+        }
+
+        synchronized Entry get(TokenDigest digest, long now) {
+            Entry entry = get(valid, digest, now);
+            return entry != null ? entry : get(invalid, digest, now);
+        }
+
+        private static Entry get(Map<TokenDigest, Entry> entries, TokenDigest digest, long now) {
+            Entry entry = entries.get(digest);
+            if (entry != null && entry.expiresAtMillis <= now) {
+                entries.remove(digest);
+                return null;
+            }
+            return entry;
+        }
+
+        synchronized void put(TokenDigest digest, Entry entry) {
+            if (entry.principal != null) {
+                valid.put(digest, entry);
+            } else if (cachesInvalid) {
+                invalid.put(digest, entry);
+            }
+        }
+
+        synchronized int size() {
+            return valid.size() + invalid.size();
+        }
+    }
+
+    /**
+     * Verification result; principal is null for tokens that failed verification.
+     */
+    private record Entry(JwtPrincipal principal, long expiresAtMillis) {
+    }
+
+    private record TokenDigest(long first, long second, long third, long fourth) {
+
+        static TokenDigest of(String token) {
+            MessageDigest sha256 = SHA_256.get();
+            ByteBuffer hash = ByteBuffer.wrap(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+            return new TokenDigest(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+        }
+    }
+}
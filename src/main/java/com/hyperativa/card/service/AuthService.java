@@ -2,47 +2,136 @@ package com.hyperativa.card.service;
 
 import com.hyperativa.card.dto.AuthResponse;
 import com.hyperativa.card.dto.LoginRequest;
+import com.hyperativa.card.exception.InvalidRefreshTokenException;
+import com.hyperativa.card.exception.ServiceBusyException;
 import com.hyperativa.card.model.User;
 import com.hyperativa.card.repository.UserRepository;
 import com.hyperativa.card.security.JwtTokenProvider;
+import com.hyperativa.card.security.UserCredentials;
+import com.hyperativa.card.security.UserCredentialsCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 @Service
 public class AuthService {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthService.class);
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+
     private final UserRepository userRepository;
+    private final UserCredentialsCache userCache;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider tokenProvider;
+    private final RefreshTokenService refreshTokenService;
+    private final Executor passwordHashingExecutor;
+    private final int bcryptStrength;
+    private final boolean rehashOnLogin;
 
     public AuthService(UserRepository userRepository,
+                       UserCredentialsCache userCache,
                        PasswordEncoder passwordEncoder,
-                       JwtTokenProvider tokenProvider) {
+                       JwtTokenProvider tokenProvider,
+                       RefreshTokenService refreshTokenService,
+                       @Qualifier("passwordHashingExecutor") Executor passwordHashingExecutor,
+                       @Value("${app.auth.bcrypt.strength:10}") int bcryptStrength,
+                       @Value("${app.auth.bcrypt.rehash-on-login:true}") boolean rehashOnLogin) {
         this.userRepository = userRepository;
+        this.userCache = userCache;
         this.passwordEncoder = passwordEncoder;
         this.tokenProvider = tokenProvider;
+        this.refreshTokenService = refreshTokenService;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.bcryptStrength = bcryptStrength;
+        this.rehashOnLogin = rehashOnLogin;
     }
 
+    /**
+     * Runs {@link #login(LoginRequest)} on the password hashing executor.
+     * Throws {@link ServiceBusyException} right away when that executor is saturated.
+     */
+    public CompletableFuture<AuthResponse> loginAsync(LoginRequest request) {
+        try {
+            return CompletableFuture.supplyAsync(() -> login(request), passwordHashingExecutor);
+        } catch (RejectedExecutionException e) {
+            log.warn("Login rejected: password hashing executor is saturated");
+            throw new ServiceBusyException("Too many concurrent logins, please retry shortly");
+        }
+    }
 
     public AuthResponse login(LoginRequest request) {
-        // Find user
-        User user = userRepository.findByUsername(request.getUsername())
+        // Find user (cached by username)
+        UserCredentials user = userCache.findByUsername(request.getUsername())
                 .orElseThrow(() -> new RuntimeException("Invalid username or password"));
 
         // Validate password
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordEncoder.matches(request.getPassword(), user.passwordHash())) {
             throw new RuntimeException("Invalid username or password");
         }
 
         // Validate if user is active
-        if (!user.getEnabled()) {
+        if (!user.enabled()) {
             throw new RuntimeException("User disabled");
         }
 
-        // Generate token
-        String token = tokenProvider.generateToken(user.getUsername(), user.getRole());
+        // Bring the stored hash to the configured cost while we hold the raw password
+        if (rehashOnLogin && needsRehash(user.passwordHash())) {
+            rehash(user, request.getPassword());
+        }
 
-        return new AuthResponse(token, user.getUsername(), user.getRole());
+        // Generate tokens
+        String refreshToken = refreshTokenService.issue(user.username());
+        return issueAccessToken(user, refreshToken);
     }
-}
 
+    /**
+     * Exchanges a refresh token for a new access token and a rotated refresh token.
+     * No password check: the cost is one indexed lookup and an HMAC signature.
+     */
+    public AuthResponse refresh(String refreshToken) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+
+        UserCredentials user = userCache.findByUsername(rotation.username()).orElse(null);
+        if (user == null || !user.enabled()) {
+            refreshTokenService.revokeFamily(rotation.familyId());
+            throw new InvalidRefreshTokenException("User disabled");
+        }
+
+        return issueAccessToken(user, rotation.refreshToken());
+    }
+
+    private AuthResponse issueAccessToken(UserCredentials user, String refreshToken) {
+        String token = tokenProvider.generateToken(user.username(), user.role());
+        return new AuthResponse(token, tokenProvider.getExpirationSeconds(), refreshToken,
+                user.username(), user.role());
+    }
+
+    private boolean needsRehash(String encodedPassword) {
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != bcryptStrength;
+    }
+
+    private void rehash(UserCredentials credentials, String rawPassword) {
+        try {
+            User user = userRepository.findById(credentials.id()).orElse(null);
+            if (user == null) {
+                return;
+            }
+            user.setPassword(passwordEncoder.encode(rawPassword));
+            userRepository.save(user); // evicts the cached entry
+            log.info("Password hash of user '{}' updated to BCrypt strength {}", user.getUsername(), bcryptStrength);
+        } catch (Exception e) {
+            // Login still succeeds; the rehash is retried on the next login
+            log.warn("Could not rehash password of user '{}': {}", credentials.username(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.hyperativa.card.service;
+
+import com.hyperativa.card.dto.CardExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface CardExportService {
+
+    /**
+     * Writes every card to the given stream and returns the number of rows written.
+     * The stream is flushed but not closed.
+     */
+    long export(CardExportFormat format, boolean gzip, OutputStream out) throws IOException;
+}
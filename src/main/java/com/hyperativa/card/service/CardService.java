@@ -1,11 +1,21 @@
 package com.hyperativa.card.service;
 
 import com.hyperativa.card.dto.CardDto;
+import com.hyperativa.card.dto.CardPageDto;
+import com.hyperativa.card.dto.CardSortKey;
+
+import java.time.LocalDateTime;
 
 public interface CardService {
 
     CardDto save(CardDto dto);
 
     Long findIdByCardNumber(Long cardNumber);
-}
 
+    /**
+     * Lists cards with keyset pagination. Pass the nextCursor of the previous
+     * page to continue; filters must stay the same between pages.
+     */
+    CardPageDto list(CardSortKey sortKey, String cursor, int limit,
+                     String binPrefix, LocalDateTime createdFrom, LocalDateTime createdTo);
+}
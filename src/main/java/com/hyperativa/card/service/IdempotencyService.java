@@ -0,0 +1,18 @@
+package com.hyperativa.card.service;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+
+    /**
+     * Runs the action once per (scope, key). Retries with the same key and request
+     * return the stored response without running the action again.
+     *
+     * @param scope              owner of the key, usually the authenticated username
+     * @param key                value of the Idempotency-Key header
+     * @param requestFingerprint request content, used to reject a key reused for a different request
+     * @param responseType       response class, used to restore persisted responses
+     * @param action             the operation to protect
+     */
+    <T> T execute(String scope, String key, String requestFingerprint, Class<T> responseType, Supplier<T> action);
+}
@@ -0,0 +1,127 @@
+package com.hyperativa.card.service;
+
+import com.hyperativa.card.exception.InvalidRefreshTokenException;
+import com.hyperativa.card.model.RefreshToken;
+import com.hyperativa.card.repository.RefreshTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Issues and rotates opaque refresh tokens. Each refresh revokes the presented
+ * token and returns a new one; presenting an already rotated token revokes the
+ * whole family, since it means the token was copied.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+    private static final int TOKEN_BYTES = 32;
+    private static final int PURGE_EVERY = 1024; // issued tokens between purges of expired rows
+
+    private final RefreshTokenRepository repository;
+    private final Duration ttl;
+    private final Clock clock;
+    private final SecureRandom random = new SecureRandom();
+    private final AtomicInteger issuedTokens = new AtomicInteger();
+
+    public record Rotation(String username, String familyId, String refreshToken) {
+    }
+
+    @Autowired
+    public RefreshTokenService(RefreshTokenRepository repository,
+                               @Value("${app.auth.refresh.ttl:14d}") Duration ttl) {
+        this(repository, ttl, Clock.systemUTC());
+    }
+
+    RefreshTokenService(RefreshTokenRepository repository, Duration ttl, Clock clock) {
+        this.repository = repository;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /**
+     * Starts a new token family for a freshly authenticated user.
+     */
+    @Transactional
+    public String issue(String username) {
+        return issue(username, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Revokes the presented token and issues its successor in the same family.
+     */
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public Rotation rotate(String rawToken) {
+        if (!StringUtils.hasText(rawToken)) {
+            throw new InvalidRefreshTokenException("Refresh token is required");
+        }
+
+        RefreshToken current = repository.findByTokenHash(sha256(rawToken))
+                .orElseThrow(() -> new InvalidRefreshTokenException("Invalid refresh token"));
+        LocalDateTime now = LocalDateTime.now(clock);
+
+        if (current.getRevokedAt() != null || repository.revokeIfActive(current.getId(), now) == 0) {
+            // Kept out of the rollback so the family stays revoked
+            int revoked = repository.revokeFamily(current.getFamilyId(), now);
+            log.warn("Reuse of rotated refresh token for user '{}', revoked {} token(s) of its family",
+                    current.getUsername(), revoked);
+            throw new InvalidRefreshTokenException("Refresh token has been revoked");
+        }
+        if (!current.getExpiresAt().isAfter(now)) {
+            throw new InvalidRefreshTokenException("Refresh token has expired");
+        }
+
+        String next = issue(current.getUsername(), current.getFamilyId());
+        return new Rotation(current.getUsername(), current.getFamilyId(), next);
+    }
+
+    @Transactional
+    public void revokeFamily(String familyId) {
+        repository.revokeFamily(familyId, LocalDateTime.now(clock));
+    }
+
+    public long getTtlSeconds() {
+        return ttl.toSeconds();
+    }
+
+    private String issue(String username, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        LocalDateTime now = LocalDateTime.now(clock);
+        repository.save(new RefreshToken(null, sha256(rawToken), familyId, username, now, now.plus(ttl), null));
+
+        if (issuedTokens.incrementAndGet() % PURGE_EVERY == 0) {
+            int purged = repository.deleteExpired(now);
+            log.debug("Purged {} expired refresh tokens", purged);
+        }
+        return rawToken;
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.hyperativa.card.service.impl;
+
+import com.hyperativa.card.config.DataSourceRouting;
+import com.hyperativa.card.dto.CardExportFormat;
+import com.hyperativa.card.repository.CardJdbcRepository;
+import com.hyperativa.card.service.CardExportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams the cards table straight from a JDBC cursor to the output stream.
+ * Nothing is accumulated per row, so heap usage does not depend on table size.
+ */
+@Service
+public class CardExportServiceImpl implements CardExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(CardExportServiceImpl.class);
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final CardJdbcRepository cardJdbcRepository;
+
+    @Value("${app.cards.export.fetch-size:1000}")
+    private int fetchSize = 1000;
+
+    public CardExportServiceImpl(CardJdbcRepository cardJdbcRepository) {
+        this.cardJdbcRepository = cardJdbcRepository;
+    }
+
+    @Override
+    public long export(CardExportFormat format, boolean gzip, OutputStream out) throws IOException {
+        GZIPOutputStream gzipStream = gzip ? new GZIPOutputStream(out, WRITE_BUFFER_SIZE) : null;
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(gzip ? gzipStream : out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+
+        long[] rows = {0};
+        long start = System.currentTimeMillis();
+
+        if (format == CardExportFormat.CSV) {
+            writer.write("id,card_number\n");
+        }
+
+        try {
+            // The cursor holds its connection for the whole export: take it from the bulk pool
+            DataSourceRouting.bulk(() -> {
+                cardJdbcRepository.streamAll(fetchSize, (id, cardNumber) -> {
+                    try {
+                        writeRow(writer, format, id, cardNumber);
+                        rows[0]++;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                return null;
+            });
+        } catch (UncheckedIOException e) {
+            // Client went away: the cursor is already closed by JdbcTemplate
+            throw e.getCause();
+        }
+
+        writer.flush();
+        if (gzipStream != null) {
+            gzipStream.finish();
+        }
+        out.flush();
+
+        log.info("Exported {} cards as {}{} in {} ms", rows[0], format,
+                gzip ? " (gzip)" : "", System.currentTimeMillis() - start);
+        return rows[0];
+    }
+
+    private void writeRow(Writer writer, CardExportFormat format, long id, long cardNumber) throws IOException {
+        if (format == CardExportFormat.CSV) {
+            writer.write(Long.toString(id));
+            writer.write(',');
+            writer.write(Long.toString(cardNumber));
+            writer.write('\n');
+        } else {
+            writer.write("{\"id\":");
+            writer.write(Long.toString(id));
+            writer.write(",\"cardNumber\":");
+            writer.write(Long.toString(cardNumber));
+            writer.write("}\n");
+        }
+    }
+}
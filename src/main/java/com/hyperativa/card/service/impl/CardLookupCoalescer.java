@@ -0,0 +1,306 @@
+package com.hyperativa.card.service.impl;
+
+import com.hyperativa.card.config.RequestTracing;
+import com.hyperativa.card.config.StatementCounter;
+import com.hyperativa.card.exception.ServiceBusyException;
+import com.hyperativa.card.model.Card;
+import com.hyperativa.card.repository.CardRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Coalesces concurrent card lookups coming from /cards/exists.
+ * Identical lookups already in flight share the same result (single-flight) and
+ * distinct lookups arriving within the same window are resolved with one IN query.
+ * A caller waits at most the configured timeout for its batch and then gets a
+ * ServiceBusyException (503) instead of pinning its request thread.
+ * The query runs on a flush thread; its trace spans and statement counts are
+ * copied into every request it answered.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.cards.lookup.coalescing", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CardLookupCoalescer implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(CardLookupCoalescer.class);
+
+    private final CardRepository repository;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final long timeoutNanos;
+    private final ScheduledExecutorService scheduler;
+
+    private final Map<Long, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Long> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingSize = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder coalescedLookups = new LongAdder();
+    private final LongAdder queries = new LongAdder();
+    private final LongAdder queriedCardNumbers = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    public CardLookupCoalescer(CardRepository repository,
+                               @Value("${app.cards.lookup.coalescing.window:2ms}") Duration window,
+                               @Value("${app.cards.lookup.coalescing.max-batch-size:100}") int maxBatchSize,
+                               @Value("${app.cards.lookup.coalescing.flush-threads:2}") int flushThreads,
+                               @Value("${app.cards.lookup.coalescing.timeout:2s}") Duration timeout) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("max-batch-size must be at least 1");
+        }
+        this.repository = repository;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.timeoutNanos = timeout.toNanos();
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("card-lookup-");
+        threadFactory.setDaemon(true);
+        this.scheduler = Executors.newScheduledThreadPool(Math.max(1, flushThreads), threadFactory);
+    }
+
+    /**
+     * Outcome of one lookup.
+     *
+     * @param id     ID of the card, empty when no card has the number
+     * @param shared whether the query that answered it also served other lookups,
+     *               either by joining an identical one or by batching distinct ones
+     */
+    public record Lookup(Optional<Long> id, boolean shared) {
+    }
+
+    /**
+     * Result of one card number within a batch of {@code batchSize} numbers,
+     * with the spans and statement counts of the batch query.
+     */
+    private record Resolved(Optional<Long> id, int batchSize,
+                            RequestTracing.Capture spans, StatementCounter.Scope statements) {
+    }
+
+    /**
+     * A card number queued or being queried; {@code joined} is set once an
+     * identical lookup shares it.
+     */
+    private static final class InFlight {
+        final CompletableFuture<Resolved> future = new CompletableFuture<>();
+        volatile boolean joined;
+    }
+
+    /**
+     * Returns the ID of the card with the given number, blocking until the
+     * batch containing this lookup has been resolved.
+     */
+    public Lookup lookup(Long cardNumber) {
+        if (cardNumber == null) {
+            return new Lookup(Optional.empty(), false);
+        }
+        lookups.increment();
+
+        InFlight created = new InFlight();
+        InFlight existing = inFlight.putIfAbsent(cardNumber, created);
+        if (existing != null) {
+            // Same number already queued or being queried: share its result
+            coalescedLookups.increment();
+            existing.joined = true;
+            Resolved resolved = await(cardNumber, existing);
+            attribute(resolved);
+            return new Lookup(resolved.id(), true);
+        }
+
+        enqueue(cardNumber);
+        Resolved resolved = await(cardNumber, created);
+        attribute(resolved);
+        return new Lookup(resolved.id(), created.joined || resolved.batchSize() > 1);
+    }
+
+    private void enqueue(Long cardNumber) {
+        pending.add(cardNumber);
+        if (pendingSize.incrementAndGet() >= maxBatchSize) {
+            // Batch is full: do not wait for the window to close
+            scheduler.execute(this::flush);
+        } else if (flushScheduled.compareAndSet(false, true)) {
+            // First lookup of a new window
+            scheduler.schedule(this::flush, windowNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void flush() {
+        flushScheduled.set(false);
+
+        List<Long> batch = new ArrayList<>(maxBatchSize);
+        Long cardNumber;
+        while (batch.size() < maxBatchSize && (cardNumber = pending.poll()) != null) {
+            batch.add(cardNumber);
+        }
+
+        if (!batch.isEmpty()) {
+            pendingSize.addAndGet(-batch.size());
+            resolve(batch);
+        }
+
+        // Lookups left behind by a full batch still need a flush of their own
+        if (pendingSize.get() > 0 && flushScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(this::flush, windowNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void resolve(List<Long> batch) {
+        queries.increment();
+        queriedCardNumbers.add(batch.size());
+
+        try {
+            Map<Long, Long> idsByNumber = new HashMap<>(batch.size() * 2);
+            RequestTracing.Capture spans = RequestTracing.capture();
+            StatementCounter.Scope statements = StatementCounter.open("card-lookup");
+            try (spans; statements) {
+                for (Card card : repository.findByCardNumberIn(batch)) {
+                    idsByNumber.put(card.getCardNumber(), card.getId());
+                }
+            }
+
+            for (Long number : batch) {
+                InFlight lookup = inFlight.remove(number);
+                if (lookup != null) {
+                    lookup.future.complete(new Resolved(Optional.ofNullable(idsByNumber.get(number)), batch.size(), spans, statements));
+                }
+            }
+            log.debug("Resolved {} card lookups with one query (coalescing ratio: {})",
+                    batch.size(), String.format("%.2f", getCoalescingRatio()));
+        } catch (RuntimeException e) {
+            log.warn("Batched card lookup failed for {} card numbers: {}", batch.size(), e.getMessage());
+            for (Long number : batch) {
+                InFlight lookup = inFlight.remove(number);
+                if (lookup != null) {
+                    lookup.future.completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Charges the shared batch query to the calling request's trace and statement scope.
+     */
+    private static void attribute(Resolved resolved) {
+        RequestTracing.attach(resolved.spans());
+        StatementCounter.add(resolved.statements());
+    }
+
+    private Resolved await(Long cardNumber, InFlight lookup) {
+        try {
+            return lookup.future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            // Let later lookups of this number start a fresh query instead of joining a stalled one
+            inFlight.remove(cardNumber, lookup);
+            throw new ServiceBusyException("Card lookup timed out, try again later");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Card lookup interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Total lookups received, including the ones that joined an in-flight lookup.
+     */
+    public long getLookupCount() {
+        return lookups.sum();
+    }
+
+    /**
+     * Lookups answered by sharing the result of an identical in-flight lookup.
+     */
+    public long getCoalescedLookupCount() {
+        return coalescedLookups.sum();
+    }
+
+    /**
+     * Number of IN queries actually sent to the database.
+     */
+    public long getQueryCount() {
+        return queries.sum();
+    }
+
+    /**
+     * Average number of card numbers sent per IN query.
+     */
+    public double getAverageBatchSize() {
+        long queryCount = queries.sum();
+        return queryCount == 0 ? 0.0 : (double) queriedCardNumbers.sum() / queryCount;
+    }
+
+    /**
+     * Lookups served per database query. 1.0 means no coalescing happened.
+     */
+    public double getCoalescingRatio() {
+        long queryCount = queries.sum();
+        return queryCount == 0 ? 0.0 : (double) lookups.sum() / queryCount;
+    }
+
+    /**
+     * Lookups that gave up waiting for their batch.
+     */
+    public long getTimeoutCount() {
+        return timeouts.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("card.lookup.requests", lookups, LongAdder::sum)
+                .description("Card lookups received by the coalescer")
+                .register(registry);
+        FunctionCounter.builder("card.lookup.coalesced", coalescedLookups, LongAdder::sum)
+                .description("Lookups that shared an identical in-flight lookup")
+                .register(registry);
+        FunctionCounter.builder("card.lookup.queries", queries, LongAdder::sum)
+                .description("Batched IN queries sent to the database")
+                .register(registry);
+        FunctionCounter.builder("card.lookup.timeouts", timeouts, LongAdder::sum)
+                .description("Lookups that timed out waiting for their batch")
+                .register(registry);
+        Gauge.builder("card.lookup.coalescing.ratio", this, CardLookupCoalescer::getCoalescingRatio)
+                .description("Lookups served per database query since startup")
+                .register(registry);
+        Gauge.builder("card.lookup.batch.size.avg", this, CardLookupCoalescer::getAverageBatchSize)
+                .description("Average card numbers per IN query since startup")
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        IllegalStateException shuttingDown = new IllegalStateException("Card lookup coalescer is shutting down");
+        inFlight.values().forEach(lookup -> lookup.future.completeExceptionally(shuttingDown));
+        inFlight.clear();
+    }
+}
@@ -1,36 +1,165 @@
 package com.hyperativa.card.service.impl;
 
 import com.hyperativa.card.dto.CardDto;
+import com.hyperativa.card.dto.CardPageDto;
+import com.hyperativa.card.dto.CardSortKey;
+import com.hyperativa.card.dto.CardSummaryDto;
 import com.hyperativa.card.exception.CardNotFoundException;
+import com.hyperativa.card.jfr.CardLookupEvent;
 import com.hyperativa.card.model.Card;
+import com.hyperativa.card.repository.CardJdbcRepository;
 import com.hyperativa.card.repository.CardRepository;
 import com.hyperativa.card.service.CardService;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
 @Service
 public class CardServiceImpl implements CardService {
 
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final CardRepository repository;
+    private final CardJdbcRepository jdbcRepository;
+    private final CardLookupCoalescer lookupCoalescer;
+
+    @Autowired
+    public CardServiceImpl(CardRepository repository,
+                           CardJdbcRepository jdbcRepository,
+                           ObjectProvider<CardLookupCoalescer> lookupCoalescer) {
+        this(repository, jdbcRepository, lookupCoalescer.getIfAvailable());
+    }
 
-    public CardServiceImpl(CardRepository repository) {
+    /**
+     * @param lookupCoalescer null when app.cards.lookup.coalescing.enabled=false
+     */
+    CardServiceImpl(CardRepository repository,
+                    CardJdbcRepository jdbcRepository,
+                    CardLookupCoalescer lookupCoalescer) {
         this.repository = repository;
+        this.jdbcRepository = jdbcRepository;
+        this.lookupCoalescer = lookupCoalescer;
     }
 
     @Override
     @Transactional
+    @Timed("card.service")
     public CardDto save(CardDto dto) {
         Card card = new Card(dto.getCardNumber());
         Card saved = repository.save(card);
         return new CardDto(saved.getId(), null);
     }
 
+    /**
+     * Not transactional on purpose: a surrounding transaction would hold a pooled
+     * connection while the lookup waits for its coalesced batch. The repository
+     * query runs in its own read-only transaction.
+     */
     @Override
-    @Transactional(readOnly = true)
+    @Timed("card.service")
     public Long findIdByCardNumber(Long cardNumber) {
-        return repository.findByCardNumber(cardNumber)
-                .map(Card::getId)
-                .orElseThrow(() -> new CardNotFoundException("Card not found"));
+        CardLookupEvent event = new CardLookupEvent();
+        event.begin();
+        Optional<Long> id;
+        boolean coalesced = false;
+        if (lookupCoalescer != null) {
+            CardLookupCoalescer.Lookup lookup = lookupCoalescer.lookup(cardNumber);
+            id = lookup.id();
+            coalesced = lookup.shared();
+        } else {
+            id = repository.findByCardNumber(cardNumber).map(Card::getId);
+        }
+
+        if (event.shouldCommit()) {
+            event.found = id.isPresent();
+            event.coalesced = coalesced;
+            event.commit();
+        }
+
+        return id.orElseThrow(() -> new CardNotFoundException("Card not found"));
     }
-}
 
+    @Override
+    @Timed("card.service")
+    public CardPageDto list(CardSortKey sortKey, String cursor, int limit,
+                            String binPrefix, LocalDateTime createdFrom, LocalDateTime createdTo) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (binPrefix != null && !binPrefix.matches("[1-9]\\d{0,17}")) {
+            throw new IllegalArgumentException("binPrefix must contain 1 to 18 digits and not start with 0");
+        }
+        if (createdFrom != null && createdTo != null && !createdFrom.isBefore(createdTo)) {
+            throw new IllegalArgumentException("createdFrom must be before createdTo");
+        }
+
+        Long after = cursor != null ? decodeCursor(cursor, sortKey) : null;
+
+        // One extra row tells whether there is a next page without a COUNT query
+        List<Card> rows = jdbcRepository.findPage(sortKey, after, binPrefix, createdFrom, createdTo, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<Card> page = hasMore ? rows.subList(0, limit) : rows;
+
+        List<CardSummaryDto> items = new ArrayList<>(page.size());
+        for (Card card : page) {
+            items.add(new CardSummaryDto(card.getId(), mask(card.getCardNumber()), card.getCreatedAt()));
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            Card last = page.get(page.size() - 1);
+            nextCursor = encodeCursor(sortKey, sortKey == CardSortKey.ID ? last.getId() : last.getCardNumber());
+        }
+        return new CardPageDto(items, nextCursor);
+    }
+
+    /**
+     * Cursor is "sortKey:lastValue" in URL-safe Base64. Clients must treat it as opaque.
+     */
+    private static String encodeCursor(CardSortKey sortKey, long lastValue) {
+        String raw = sortKey.name() + ":" + lastValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Long decodeCursor(String cursor, CardSortKey sortKey) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        int separator = raw.indexOf(':');
+        if (separator == -1) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (!raw.substring(0, separator).equals(sortKey.name())) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort");
+        }
+        try {
+            return Long.parseLong(raw.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Keeps the first 6 (BIN) and last 4 digits, as allowed by PCI DSS.
+     */
+    private static String mask(Long cardNumber) {
+        String digits = String.valueOf(cardNumber);
+        if (digits.length() <= 10) {
+            return "*".repeat(Math.max(0, digits.length() - 4)) + digits.substring(Math.max(0, digits.length() - 4));
+        }
+        return digits.substring(0, 6) + "*".repeat(digits.length() - 10) + digits.substring(digits.length() - 4);
+    }
+}
@@ -1,40 +1,95 @@
 package com.hyperativa.card.service.impl;
 
+import com.hyperativa.card.config.DataSourceRouting;
+import com.hyperativa.card.config.StatementCounter;
 import com.hyperativa.card.dto.UploadResultDto;
+import com.hyperativa.card.jfr.BatchWriteEvent;
+import com.hyperativa.card.jfr.UploadEvent;
 import com.hyperativa.card.model.Card;
-import com.hyperativa.card.repository.CardRepository;
+import com.hyperativa.card.repository.CardJdbcRepository;
 import com.hyperativa.card.service.FileUploadService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 @Service
 public class FileUploadServiceImpl implements FileUploadService {
 
+    /**
+     * How much of an upload is logged. Every mode logs one summary line per batch
+     * and per file, plus parse errors.
+     */
+    public enum LogMode {
+        /** Every step of every card: parsed, batched, checked, saved. */
+        PER_RECORD,
+        /** Summary lines only. */
+        SUMMARY,
+        /** Summary lines plus every step of about one card in sample-every. */
+        SAMPLED
+    }
+
     private static final Logger log = LoggerFactory.getLogger(FileUploadServiceImpl.class);
     private static final int BATCH_SIZE = 1000; // Process 1000 records at a time
 
-    private final CardRepository cardRepository;
-
-    public FileUploadServiceImpl(CardRepository cardRepository) {
-        this.cardRepository = cardRepository;
+    private final CardJdbcRepository cardJdbcRepository;
+    private final UploadMetrics metrics;
+    private final LogMode logMode;
+    private final int sampleEvery;
+
+    public FileUploadServiceImpl(CardJdbcRepository cardJdbcRepository, MeterRegistry meterRegistry,
+                                 @Value("${app.upload.logging.mode:SUMMARY}") LogMode logMode,
+                                 @Value("${app.upload.logging.sample-every:1000}") int sampleEvery) {
+        this.cardJdbcRepository = cardJdbcRepository;
+        this.metrics = new UploadMetrics(meterRegistry);
+        this.logMode = logMode;
+        this.sampleEvery = Math.max(1, sampleEvery);
     }
 
     @Override
     public UploadResultDto processCardFile(MultipartFile file) {
+        UploadEvent event = new UploadEvent();
+        event.begin();
+        Timer.Sample sample = metrics.startFile();
+        UploadResultDto result;
+        try (StatementCounter.Scope statements = StatementCounter.open("upload")) {
+            // Upload writes use the bulk pool so they cannot starve API lookups
+            result = DataSourceRouting.bulk(() -> process(file));
+            metrics.statements(statements);
+            log.info("Upload issued {}", statements);
+        }
+        metrics.stopFile(sample, result.getStatus());
+
+        if (event.shouldCommit()) {
+            event.loteName = result.getLoteName();
+            event.declaredCount = result.getDeclaredCount() != null ? result.getDeclaredCount() : -1;
+            event.processed = result.getProcessedCount();
+            event.duplicates = result.getDuplicatedCount();
+            event.errors = result.getErrorCount();
+            event.status = result.getStatus();
+            event.commit();
+        }
+        return result;
+    }
+
+    private UploadResultDto process(MultipartFile file) {
         UploadResultDto result = new UploadResultDto();
         result.setStatus("PROCESSING");
 
         List<Card> batch = new ArrayList<>();
+        int batchNumber = 0;
         int lineNumber = 0;
         int processedCount = 0;
         int duplicatedCount = 0;
@@ -49,32 +104,38 @@ public class FileUploadServiceImpl implements FileUploadService {
 
                 // Line 1: Header
                 if (lineNumber == 1) {
-                    parseHeader(line, result);
+                    LoteFileParser.parseHeader(line, result);
                     continue;
                 }
 
                 // Detail lines (start with C)
-                if (line.trim().startsWith("C")) {
+                if (LoteFileParser.isDetailLine(line)) {
                     try {
-                        Long cardNumber = parseCardNumber(line);
+                        Long cardNumber = LoteFileParser.parseCardNumber(line);
                         if (cardNumber != null) {
+                            metrics.lineAccepted();
                             Card card = new Card(cardNumber);
                             batch.add(card);
-                            log.info("Line {}: Added card {} to batch (current size: {})",
-                                    lineNumber, cardNumber, batch.size());
+                            if (logRecord(cardNumber)) {
+                                log.info("  Parser extracted: {}", cardNumber);
+                                log.info("Line {}: Added card {} to batch (current size: {})",
+                                        lineNumber, cardNumber, batch.size());
+                            }
 
                             // Process batch when reaching size limit
                             if (batch.size() >= BATCH_SIZE) {
-                                int[] batchResult = saveBatch(batch);
+                                int[] batchResult = writeBatch(result.getLoteName(), ++batchNumber, batch);
                                 processedCount += batchResult[0];
                                 duplicatedCount += batchResult[1];
                                 batch.clear();
                             }
                         } else {
+                            metrics.lineRejected();
                             log.warn("Line {}: Card number is null, not added to batch", lineNumber);
                         }
                     } catch (Exception e) {
                         errorCount++;
+                        metrics.error();
                         String errorMsg = String.format("Error on line %d: %s", lineNumber, e.getMessage());
                         result.getErrors().add(errorMsg);
                         log.warn(errorMsg);
@@ -82,14 +143,14 @@ public class FileUploadServiceImpl implements FileUploadService {
                 }
 
                 // Last line: Footer (validate quantity)
-                if (line.trim().matches("^LOTE\\d+.*")) {
-                    parseFooter(line, result);
+                if (LoteFileParser.isFooterLine(line)) {
+                    LoteFileParser.parseFooter(line, result);
                 }
             }
 
             // Process remaining records in batch
             if (!batch.isEmpty()) {
-                int[] batchResult = saveBatch(batch);
+                int[] batchResult = writeBatch(result.getLoteName(), ++batchNumber, batch);
                 processedCount += batchResult[0];
                 duplicatedCount += batchResult[1];
             }
@@ -121,140 +182,106 @@ public class FileUploadServiceImpl implements FileUploadService {
         return result;
     }
 
-    private void parseHeader(String line, UploadResultDto result) {
-        try {
-            // Name: positions 1-29 (0-based: 0-28)
-            // Date: positions 30-37 (0-based: 29-36)
-            // Batch: positions 38-45 (0-based: 37-44)
-            // Quantity: positions 46-51 (0-based: 45-50)
-
-            if (line.length() >= 37) {
-                String date = line.substring(29, Math.min(37, line.length())).trim();
-                result.setLoteDate(date);
-            }
-
-            if (line.length() >= 45) {
-                String lote = line.substring(37, Math.min(45, line.length())).trim();
-                result.setLoteName(lote);
-            }
-
-            if (line.length() >= 51) {
-                String countStr = line.substring(45, Math.min(51, line.length())).trim();
-                try {
-                    result.setDeclaredCount(Integer.parseInt(countStr));
-                } catch (NumberFormatException e) {
-                    log.warn("Could not parse declared quantity: {}", countStr);
-                }
-            }
-        } catch (Exception e) {
-            log.warn("Error parsing header: {}", e.getMessage());
-        }
-    }
-
-    private void parseFooter(String line, UploadResultDto result) {
-        // Footer contains batch and quantity for validation
-        // Format: LOTE0001000010 (8 char batch + 6 char quantity)
-        try {
-            if (line.length() >= 14) {
-                String lote = line.substring(0, 8).trim();
-                String countStr = line.substring(8, 14).trim();
-
-                if (!lote.equals(result.getLoteName())) {
-                    result.getErrors().add(
-                        String.format("Batch in footer (%s) different from header (%s)",
-                            lote, result.getLoteName())
-                    );
-                }
-            }
-        } catch (Exception e) {
-            log.warn("Error parsing footer: {}", e.getMessage());
-        }
-    }
-
-    private Long parseCardNumber(String line) {
-        try {
-            // Remove comments (everything after //)
-            String lineWithoutComments = line;
-            int commentIndex = line.indexOf("//");
-            if (commentIndex != -1) {
-                lineWithoutComments = line.substring(0, commentIndex);
-            }
-
-            // Remove identifier (C1, C2, etc.) and extract only digits
-            String cardPart = lineWithoutComments.replaceFirst("^C\\d+\\s+", "").trim();
-
-            // Extract only digits
-            String digits = cardPart.replaceAll("[^0-9]", "");
-
-            if (digits.isEmpty()) {
-                log.warn("No digits found in line: {}", line);
-                return null;
-            }
-
-            // Validate length (cards typically have 13-19 digits)
-            if (digits.length() < 13 || digits.length() > 19) {
-                log.warn("Card number with invalid length ({}): {}", digits.length(), digits);
-            }
-
-            Long cardNumber = Long.parseLong(digits);
-            log.info("  Parser extracted: {} (length: {})", cardNumber, digits.length());
-            return cardNumber;
-
-        } catch (NumberFormatException e) {
-            log.warn("Error parsing card number from line: {}", line);
-            return null;
+    private int[] writeBatch(String loteName, int batchNumber, List<Card> batch) {
+        BatchWriteEvent event = new BatchWriteEvent();
+        event.begin();
+        long start = System.nanoTime();
+        int[] result = metrics.timeBatch(() -> saveBatch(batch));
+
+        log.info("Batch saved lote={} batch={} size={} saved={} duplicatesInFile={} duplicatesInDatabase={} elapsedMs={}",
+                loteName, batchNumber, batch.size(), result[0], result[1] - result[2], result[2],
+                (System.nanoTime() - start) / 1_000_000);
+
+        if (event.shouldCommit()) {
+            event.size = batch.size();
+            event.saved = result[0];
+            event.duplicates = result[1];
+            event.commit();
         }
+        return result;
     }
 
     /**
-     * Saves a batch of cards to the database.
-     * Uses independent transaction (REQUIRES_NEW) to not affect the main transaction.
+     * Saves a batch of cards to the database with two round trips: one query finds
+     * the numbers already stored and the new ones are inserted as one JDBC batch.
      * Detects duplicates both in the database and within the batch itself.
-     * Returns [successfully processed, duplicates]
+     * Returns [successfully processed, duplicates, of which already in the database]
      */
-    @Transactional(propagation = org.springframework.transaction.annotation.Propagation.REQUIRES_NEW)
     private int[] saveBatch(List<Card> batch) {
-        int processed = 0;
         int duplicated = 0;
-        java.util.Set<Long> seenInBatch = new java.util.HashSet<>();
+        int duplicatedInDatabase = 0;
+        Set<Long> seenInBatch = new LinkedHashSet<>();
 
-        log.info("=== Starting batch processing with {} cards ===", batch.size());
+        List<Long> cardNumbers = batch.stream().map(Card::getCardNumber).toList();
+        Set<Long> stored = cardJdbcRepository.findExistingCardNumbers(cardNumbers);
 
-        for (Card card : batch) {
-            try {
-                Long cardNumber = card.getCardNumber();
+        for (Long cardNumber : cardNumbers) {
+            boolean detail = logRecord(cardNumber);
+            if (detail) {
                 log.info("Processing card: {}", cardNumber);
+            }
 
-                // Check if already seen in this batch
-                if (seenInBatch.contains(cardNumber)) {
-                    duplicated++;
+            if (stored.contains(cardNumber)) {
+                duplicated++;
+                duplicatedInDatabase++;
+                metrics.duplicateInDatabase();
+                if (detail) {
+                    log.info("  -> DUPLICATE in database");
+                }
+            } else if (!seenInBatch.add(cardNumber)) {
+                duplicated++;
+                metrics.duplicateInFile();
+                if (detail) {
                     log.info("  -> DUPLICATE within batch (already seen)");
-                    continue;
                 }
+            }
+        }
 
-                // Check if already exists in database
-                if (cardRepository.findByCardNumber(cardNumber).isPresent()) {
-                    duplicated++;
-                    log.info("  -> DUPLICATE in database");
-                } else {
-                    cardRepository.save(card);
-                    seenInBatch.add(cardNumber);
-                    processed++;
-                    log.info("  -> SAVED successfully");
+        int processed = 0;
+        if (!seenInBatch.isEmpty()) {
+            List<Long> newCards = new ArrayList<>(seenInBatch);
+            try {
+                cardJdbcRepository.insertAll(newCards);
+                processed = newCards.size();
+                if (logMode != LogMode.SUMMARY) {
+                    for (Long cardNumber : newCards) {
+                        if (logRecord(cardNumber)) {
+                            log.info("  -> SAVED successfully: {}", cardNumber);
+                        }
+                    }
                 }
             } catch (DataIntegrityViolationException e) {
-                // Unique constraint violation - duplicate card
-                // May occur in concurrency scenarios
-                duplicated++;
-                log.info("  -> DUPLICATE (constraint violation)");
-            } catch (Exception e) {
-                log.error("Error saving card: {}", card.getCardNumber(), e);
-                throw e; // Propagate to be counted as error
+                // Unique constraint violation - another upload stored one of these cards
+                // after the lookup. The batch was rolled back, so insert one by one.
+                log.info("Batch insert hit a constraint violation, retrying card by card");
+                for (Long cardNumber : newCards) {
+                    try {
+                        cardJdbcRepository.insert(cardNumber);
+                        processed++;
+                    } catch (DataIntegrityViolationException duplicate) {
+                        duplicated++;
+                        duplicatedInDatabase++;
+                        metrics.duplicateInDatabase();
+                        log.info("  -> DUPLICATE (constraint violation): {}", cardNumber);
+                    }
+                }
             }
         }
+        metrics.cardsSaved(processed);
 
-        log.info("=== Batch completed: {} processed, {} duplicates ===", processed, duplicated);
-        return new int[]{processed, duplicated};
+        return new int[]{processed, duplicated, duplicatedInDatabase};
     }
-}
 
+    /**
+     * Whether the per-record steps of this card are logged. Sampling is keyed on the
+     * card number, so a sampled card is followed through parsing and saving.
+     */
+    private boolean logRecord(long cardNumber) {
+        return switch (logMode) {
+            case PER_RECORD -> log.isInfoEnabled();
+            case SUMMARY -> false;
+            case SAMPLED -> Math.floorMod(Long.hashCode(cardNumber * 0x9E3779B97F4A7C15L), sampleEvery) == 0
+                    && log.isInfoEnabled();
+        };
+    }
+}
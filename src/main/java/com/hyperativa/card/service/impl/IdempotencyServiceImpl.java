@@ -0,0 +1,247 @@
+package com.hyperativa.card.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hyperativa.card.exception.IdempotencyKeyInUseException;
+import com.hyperativa.card.exception.IdempotencyKeyMismatchException;
+import com.hyperativa.card.model.IdempotencyKey;
+import com.hyperativa.card.repository.IdempotencyKeyRepository;
+import com.hyperativa.card.service.IdempotencyService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency store backed by a bounded in-memory map with a fixed TTL.
+ * Entries are kept in insertion order, which is also expiry order, so purging
+ * only ever looks at the head of the map. Optionally writes completed responses
+ * through to the idempotency_keys table.
+ *
+ * Request fingerprints are HMAC-SHA256 digests keyed with a server-side secret:
+ * a plain hash of a card number could be reversed by brute force, since the BIN
+ * and Luhn digit leave few candidates. The secret is its own required property
+ * so that it can be rotated, and leaked, independently of the JWT signing key.
+ */
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyServiceImpl.class);
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int PURGE_PERSISTED_EVERY = 1024; // persisted writes between purges
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final IdempotencyKeyRepository repository;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final int maxEntries;
+    private final boolean persistent;
+    private final Clock clock;
+    private final ThreadLocal<Mac> hmac;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+    private final AtomicInteger persistedWrites = new AtomicInteger();
+
+    @Autowired
+    public IdempotencyServiceImpl(IdempotencyKeyRepository repository,
+                                  ObjectMapper objectMapper,
+                                  @Value("${app.idempotency.ttl:24h}") Duration ttl,
+                                  @Value("${app.idempotency.max-entries:100000}") int maxEntries,
+                                  @Value("${app.idempotency.persistent:false}") boolean persistent,
+                                  @Value("${app.idempotency.fingerprint-secret}") String fingerprintSecret) {
+        this(repository, objectMapper, ttl, maxEntries, persistent, fingerprintSecret, Clock.systemUTC());
+    }
+
+    IdempotencyServiceImpl(IdempotencyKeyRepository repository,
+                           ObjectMapper objectMapper,
+                           Duration ttl,
+                           int maxEntries,
+                           boolean persistent,
+                           String fingerprintSecret,
+                           Clock clock) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+        this.persistent = persistent;
+        this.clock = clock;
+
+        if (fingerprintSecret == null || fingerprintSecret.isBlank()) {
+            throw new IllegalArgumentException("app.idempotency.fingerprint-secret must not be blank");
+        }
+        SecretKeySpec key = new SecretKeySpec(fingerprintSecret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+        this.hmac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(HMAC_ALGORITHM + " not available", e);
+            }
+        });
+    }
+
+    @Override
+    public <T> T execute(String scope, String key, String requestFingerprint,
+                         Class<T> responseType, Supplier<T> action) {
+        String storeKey = scope + ":" + key;
+        if (storeKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key is too long");
+        }
+        String fingerprint = hmac(requestFingerprint);
+        long now = clock.millis();
+
+        Entry existing;
+        synchronized (entries) {
+            purgeExpired(now);
+            existing = entries.get(storeKey);
+            if (existing == null) {
+                entries.put(storeKey, Entry.inProgress(fingerprint, now + ttl.toMillis()));
+                evictOverflow();
+            }
+        }
+
+        if (existing != null) {
+            log.debug("Idempotency-Key {} replayed", key);
+            return replay(existing, fingerprint, responseType);
+        }
+
+        T response;
+        try {
+            if (persistent) {
+                Optional<T> persisted = loadPersisted(storeKey, fingerprint, responseType);
+                if (persisted.isPresent()) {
+                    complete(storeKey, fingerprint, persisted.get());
+                    return persisted.get();
+                }
+            }
+            response = action.get();
+        } catch (Throwable e) {
+            // Failed requests are not remembered, whatever was thrown: the client may retry them
+            synchronized (entries) {
+                entries.remove(storeKey);
+            }
+            throw e;
+        }
+
+        complete(storeKey, fingerprint, response);
+        if (persistent) {
+            persist(storeKey, fingerprint, response);
+        }
+        return response;
+    }
+
+    private <T> T replay(Entry entry, String fingerprint, Class<T> responseType) {
+        if (!entry.fingerprint.equals(fingerprint)) {
+            throw new IdempotencyKeyMismatchException(
+                    "Idempotency-Key was already used with a different request");
+        }
+        if (entry.response == null) {
+            throw new IdempotencyKeyInUseException(
+                    "A request with this Idempotency-Key is still being processed");
+        }
+        return responseType.cast(entry.response);
+    }
+
+    private void complete(String storeKey, String fingerprint, Object response) {
+        synchronized (entries) {
+            Entry current = entries.get(storeKey);
+            if (current != null) {
+                entries.put(storeKey, current.completed(response));
+            } else {
+                // Evicted while the action ran: keep the result anyway
+                entries.put(storeKey, new Entry(fingerprint, response, clock.millis() + ttl.toMillis()));
+                evictOverflow();
+            }
+        }
+    }
+
+    private void purgeExpired(long now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext() && iterator.next().expiresAtMillis <= now) {
+            iterator.remove();
+        }
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private <T> Optional<T> loadPersisted(String storeKey, String fingerprint, Class<T> responseType) {
+        Optional<IdempotencyKey> stored = repository.findById(storeKey)
+                .filter(record -> record.getExpiresAt().isAfter(LocalDateTime.now(clock)));
+        if (stored.isEmpty()) {
+            return Optional.empty();
+        }
+        if (!stored.get().getFingerprint().equals(fingerprint)) {
+            throw new IdempotencyKeyMismatchException(
+                    "Idempotency-Key was already used with a different request");
+        }
+        try {
+            return Optional.of(objectMapper.readValue(stored.get().getResponseBody(), responseType));
+        } catch (JsonProcessingException e) {
+            log.warn("Could not restore persisted response for Idempotency-Key: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void persist(String storeKey, String fingerprint, Object response) {
+        try {
+            LocalDateTime now = LocalDateTime.now(clock);
+            repository.save(new IdempotencyKey(storeKey, fingerprint,
+                    objectMapper.writeValueAsString(response), now, now.plus(ttl)));
+
+            if (persistedWrites.incrementAndGet() % PURGE_PERSISTED_EVERY == 0) {
+                int purged = repository.deleteExpired(now);
+                log.debug("Purged {} expired idempotency keys", purged);
+            }
+        } catch (Exception e) {
+            // The in-memory entry still protects retries on this instance
+            log.warn("Could not persist Idempotency-Key response: {}", e.getMessage());
+        }
+    }
+
+    private String hmac(String value) {
+        return HexFormat.of().formatHex(hmac.get().doFinal(String.valueOf(value).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static final class Entry {
+        private final String fingerprint;
+        private final Object response;   // null while the first request is still running
+        private final long expiresAtMillis;
+
+        private Entry(String fingerprint, Object response, long expiresAtMillis) {
+            this.fingerprint = fingerprint;
+            this.response = response;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        static Entry inProgress(String fingerprint, long expiresAtMillis) {
+            return new Entry(fingerprint, null, expiresAtMillis);
+        }
+
+        Entry completed(Object response) {
+            return new Entry(fingerprint, response, expiresAtMillis);
+        }
+    }
+}
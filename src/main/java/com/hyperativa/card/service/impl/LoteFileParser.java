@@ -0,0 +1,120 @@
+package com.hyperativa.card.service.impl;
+
+import com.hyperativa.card.dto.UploadResultDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.regex.Pattern;
+
+/**
+ * Parsing of the fixed-width LOTE file format (see DESAFIO-HYPERATIVA.txt).
+ * Stateless; shared by {@link FileUploadServiceImpl} and the startup warm-up.
+ */
+public final class LoteFileParser {
+
+    private static final Logger log = LoggerFactory.getLogger(LoteFileParser.class);
+    private static final Pattern FOOTER = Pattern.compile("^LOTE\\d+.*");
+
+    private LoteFileParser() {
+    }
+
+    /**
+     * Detail lines start with C.
+     */
+    public static boolean isDetailLine(String line) {
+        return line.trim().startsWith("C");
+    }
+
+    /**
+     * Last line: LOTE + batch number + quantity.
+     */
+    public static boolean isFooterLine(String line) {
+        return FOOTER.matcher(line.trim()).matches();
+    }
+
+    public static void parseHeader(String line, UploadResultDto result) {
+        try {
+            // Name: positions 1-29 (0-based: 0-28)
+            // Date: positions 30-37 (0-based: 29-36)
+            // Batch: positions 38-45 (0-based: 37-44)
+            // Quantity: positions 46-51 (0-based: 45-50)
+
+            if (line.length() >= 37) {
+                String date = line.substring(29, Math.min(37, line.length())).trim();
+                result.setLoteDate(date);
+            }
+
+            if (line.length() >= 45) {
+                String lote = line.substring(37, Math.min(45, line.length())).trim();
+                result.setLoteName(lote);
+            }
+
+            if (line.length() >= 51) {
+                String countStr = line.substring(45, Math.min(51, line.length())).trim();
+                try {
+                    result.setDeclaredCount(Integer.parseInt(countStr));
+                } catch (NumberFormatException e) {
+                    log.warn("Could not parse declared quantity: {}", countStr);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Error parsing header: {}", e.getMessage());
+        }
+    }
+
+    public static void parseFooter(String line, UploadResultDto result) {
+        // Footer contains batch and quantity for validation
+        // Format: LOTE0001000010 (8 char batch + 6 char quantity)
+        try {
+            if (line.length() >= 14) {
+                String lote = line.substring(0, 8).trim();
+                String countStr = line.substring(8, 14).trim();
+
+                if (!lote.equals(result.getLoteName())) {
+                    result.getErrors().add(
+                        String.format("Batch in footer (%s) different from header (%s)",
+                            lote, result.getLoteName())
+                    );
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Error parsing footer: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the card number of a detail line, or null if it has no usable digits.
+     */
+    public static Long parseCardNumber(String line) {
+        try {
+            // Remove comments (everything after //)
+            String lineWithoutComments = line;
+            int commentIndex = line.indexOf("//");
+            if (commentIndex != -1) {
+                lineWithoutComments = line.substring(0, commentIndex);
+            }
+
+            // Remove identifier (C1, C2, etc.) and extract only digits
+            String cardPart = lineWithoutComments.replaceFirst("^C\\d+\\s+", "").trim();
+
+            // Extract only digits
+            String digits = cardPart.replaceAll("[^0-9]", "");
+
+            if (digits.isEmpty()) {
+                log.warn("No digits found in line: {}", line);
+                return null;
+            }
+
+            // Validate length (cards typically have 13-19 digits)
+            if (digits.length() < 13 || digits.length() > 19) {
+                log.warn("Card number with invalid length ({}): {}", digits.length(), digits);
+            }
+
+            return Long.parseLong(digits);
+
+        } catch (NumberFormatException e) {
+            log.warn("Error parsing card number from line: {}", line);
+            return null;
+        }
+    }
+}
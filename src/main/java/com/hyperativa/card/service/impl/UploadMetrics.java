@@ -0,0 +1,100 @@
+package com.hyperativa.card.service.impl;
+
+import com.hyperativa.card.config.StatementCounter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.function.Supplier;
+
+/**
+ * Meters of the LOTE upload pipeline: parsed lines, saved cards, duplicates by
+ * where they were detected, per-line errors, per-batch and per-file latency, and
+ * the statements and commits each file issued.
+ */
+final class UploadMetrics {
+
+    private final MeterRegistry registry;
+    private final Counter linesAccepted;
+    private final Counter linesRejected;
+    private final Counter cardsSaved;
+    private final Counter duplicatesInFile;
+    private final Counter duplicatesInDatabase;
+    private final Counter errors;
+    private final Timer batchTimer;
+
+    UploadMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.linesAccepted = lines(registry, "accepted");
+        this.linesRejected = lines(registry, "rejected");
+        this.cardsSaved = Counter.builder("card.upload.cards.saved")
+                .description("Cards inserted from uploaded files")
+                .register(registry);
+        this.duplicatesInFile = duplicates(registry, "file");
+        this.duplicatesInDatabase = duplicates(registry, "database");
+        this.errors = Counter.builder("card.upload.errors")
+                .description("Detail lines that failed with an error")
+                .register(registry);
+        this.batchTimer = Timer.builder("card.upload.batch")
+                .description("Time to save one batch of cards")
+                .register(registry);
+    }
+
+    private static Counter lines(MeterRegistry registry, String result) {
+        return Counter.builder("card.upload.lines")
+                .description("Detail lines parsed; rejected lines have no usable card number")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static Counter duplicates(MeterRegistry registry, String source) {
+        return Counter.builder("card.upload.duplicates")
+                .description("Duplicate cards, detected within the file or already stored")
+                .tag("source", source)
+                .register(registry);
+    }
+
+    void lineAccepted() {
+        linesAccepted.increment();
+    }
+
+    void lineRejected() {
+        linesRejected.increment();
+    }
+
+    void cardsSaved(int count) {
+        cardsSaved.increment(count);
+    }
+
+    void duplicateInFile() {
+        duplicatesInFile.increment();
+    }
+
+    void duplicateInDatabase() {
+        duplicatesInDatabase.increment();
+    }
+
+    void error() {
+        errors.increment();
+    }
+
+    <T> T timeBatch(Supplier<T> batch) {
+        return batchTimer.record(batch);
+    }
+
+    Timer.Sample startFile() {
+        return Timer.start(registry);
+    }
+
+    void stopFile(Timer.Sample sample, String status) {
+        sample.stop(Timer.builder("card.upload.file")
+                .description("Time to process one uploaded file")
+                .tag("status", status == null ? "UNKNOWN" : status)
+                .register(registry));
+    }
+
+    void statements(StatementCounter.Scope scope) {
+        scope.publish(registry, Tags.empty());
+    }
+}
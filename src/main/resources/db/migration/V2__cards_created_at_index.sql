@@ -0,0 +1,12 @@
+-- =============================================
+-- Index for GET /cards filtering and paging by creation date.
+-- Skipped when a database already has it (MySQL has no ADD INDEX IF NOT EXISTS).
+-- =============================================
+SET @index_exists = (SELECT COUNT(*) FROM information_schema.statistics
+                     WHERE table_schema = DATABASE()
+                       AND table_name = 'cards'
+                       AND index_name = 'idx_created_at');
+SET @ddl = IF(@index_exists = 0, 'ALTER TABLE cards ADD INDEX idx_created_at (created_at)', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -0,0 +1,13 @@
+-- =============================================
+-- Table: idempotency_keys
+-- Description: Responses of POST /cards keyed by Idempotency-Key
+-- (only used when app.idempotency.persistent=true)
+-- =============================================
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(255) NOT NULL PRIMARY KEY,
+    fingerprint CHAR(64) NOT NULL,
+    response_body VARCHAR(4000) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    INDEX idx_expires_at (expires_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
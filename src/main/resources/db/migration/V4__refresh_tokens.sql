@@ -0,0 +1,15 @@
+-- =============================================
+-- Table: refresh_tokens
+-- Description: SHA-256 of refresh tokens issued by /auth/login and /auth/refresh
+-- =============================================
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    token_hash CHAR(64) NOT NULL UNIQUE,
+    family_id CHAR(36) NOT NULL,
+    username VARCHAR(50) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    revoked_at DATETIME(6) NULL,
+    INDEX idx_family_id (family_id),
+    INDEX idx_expires_at (expires_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,45 @@
+package com.hyperativa.card.reactive;
+
+import com.hyperativa.card.exception.ApiExceptionHandler;
+import com.hyperativa.card.security.JwtTokenProvider;
+import com.hyperativa.card.security.RateLimiter;
+import com.hyperativa.card.security.VerifiedTokenCache;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.reactive.ReactiveUserDetailsServiceAutoConfiguration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * WebFlux + R2DBC variant of POST /cards and GET /cards/exists, built by the
+ * reactive profile. It only scans this package: the JDBC, JPA and servlet beans
+ * of CardApplication stay out, while JWT verification, the rate limiter and the
+ * error bodies are shared. Every bean here is conditional on a reactive web application because
+ * CardApplication's component scan sees this package too.
+ */
+@SpringBootApplication(exclude = {
+		DataSourceAutoConfiguration.class,
+		DataSourceTransactionManagerAutoConfiguration.class,
+		JdbcTemplateAutoConfiguration.class,
+		HibernateJpaAutoConfiguration.class,
+		FlywayAutoConfiguration.class,
+		ReactiveUserDetailsServiceAutoConfiguration.class
+})
+@Import({JwtTokenProvider.class, VerifiedTokenCache.class, RateLimiter.class, ApiExceptionHandler.class})
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCardApplication {
+
+	public static void main(String[] args) {
+		SpringApplication application = new SpringApplication(ReactiveCardApplication.class);
+		application.setWebApplicationType(WebApplicationType.REACTIVE);
+		application.setAdditionalProfiles("reactive");
+		application.run(args);
+	}
+
+}
@@ -0,0 +1,46 @@
+package com.hyperativa.card.reactive;
+
+import com.hyperativa.card.dto.CardDto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Reactive counterpart of CardController's create and exists endpoints, with the
+ * same paths, bodies and status codes.
+ */
+@RestController
+@RequestMapping("/cards")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCardController {
+
+    private final ReactiveCardService service;
+
+    public ReactiveCardController(ReactiveCardService service) {
+        this.service = service;
+    }
+
+    /**
+     * Idempotency keys are stored through the blocking JDBC service, so a keyed
+     * request is refused rather than silently executed without retry protection.
+     */
+    @PostMapping
+    public Mono<ResponseEntity<CardDto>> create(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody CardDto dto) {
+        if (StringUtils.hasText(idempotencyKey)) {
+            return Mono.error(new IllegalArgumentException("Idempotency-Key is not supported by the reactive API"));
+        }
+        return service.save(dto).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/exists")
+    public Mono<ResponseEntity<Map<String, Long>>> exists(@RequestParam("cardNumber") Long cardNumber) {
+        return service.findIdByCardNumber(cardNumber)
+                .map(id -> ResponseEntity.ok(Map.of("id", id)));
+    }
+}
@@ -0,0 +1,45 @@
+package com.hyperativa.card.reactive;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCardRepository {
+
+    private static final String FIND_ID = "SELECT id FROM cards WHERE card_number = :cardNumber";
+    private static final String INSERT = "INSERT INTO cards (card_number, created_at) VALUES (:cardNumber, :createdAt)";
+
+    private final DatabaseClient client;
+
+    public ReactiveCardRepository(DatabaseClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Completes empty when no card has this number.
+     */
+    public Mono<Long> findIdByCardNumber(long cardNumber) {
+        return client.sql(FIND_ID)
+                .bind("cardNumber", cardNumber)
+                .map(row -> row.get("id", Long.class))
+                .one();
+    }
+
+    /**
+     * Inserts the card and emits its generated id. A duplicate number fails with
+     * DataIntegrityViolationException, as the JPA repository does.
+     */
+    public Mono<Long> insert(long cardNumber) {
+        return client.sql(INSERT)
+                .bind("cardNumber", cardNumber)
+                .bind("createdAt", LocalDateTime.now())
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Long.class))
+                .one();
+    }
+}
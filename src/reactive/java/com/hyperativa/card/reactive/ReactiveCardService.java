@@ -0,0 +1,36 @@
+package com.hyperativa.card.reactive;
+
+import com.hyperativa.card.dto.CardDto;
+import com.hyperativa.card.exception.CardNotFoundException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Same contract as CardServiceImpl.save and findIdByCardNumber, without blocking
+ * the event loop. Lookups are not coalesced: R2DBC keeps queries in flight
+ * without holding a thread, which is what the coalescer works around.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCardService {
+
+    private final ReactiveCardRepository repository;
+
+    public ReactiveCardService(ReactiveCardRepository repository) {
+        this.repository = repository;
+    }
+
+    public Mono<CardDto> save(CardDto dto) {
+        if (dto.getCardNumber() == null) {
+            return Mono.error(new IllegalArgumentException("cardNumber is required"));
+        }
+        return repository.insert(dto.getCardNumber())
+                .map(id -> new CardDto(id, null));
+    }
+
+    public Mono<Long> findIdByCardNumber(Long cardNumber) {
+        return repository.findIdByCardNumber(cardNumber)
+                .switchIfEmpty(Mono.error(() -> new CardNotFoundException("Card not found")));
+    }
+}
@@ -0,0 +1,30 @@
+package com.hyperativa.card.reactive;
+
+import com.hyperativa.card.config.AdaptiveConcurrencyLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Adaptive concurrency limit in front of the reactive card endpoints, with the
+ * same app.concurrency-limit settings as ConcurrencyLimitConfig. There is no
+ * upload, export or login here, so a single "cards" limiter covers everything.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ConditionalOnProperty(name = "app.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ReactiveConcurrencyLimitConfig {
+
+    @Bean
+    public ReactiveConcurrencyLimitFilter cardsConcurrencyLimitFilter(
+            @Value("${app.concurrency-limit.initial-limit:20}") int initialLimit,
+            @Value("${app.concurrency-limit.min-limit:4}") int minLimit,
+            @Value("${app.concurrency-limit.max-limit:200}") int maxLimit,
+            @Value("${app.concurrency-limit.rtt-tolerance:1.5}") double rttTolerance,
+            @Value("${app.concurrency-limit.smoothing:0.2}") double smoothing) {
+        return new ReactiveConcurrencyLimitFilter(new AdaptiveConcurrencyLimiter("cards",
+                initialLimit, minLimit, maxLimit, rttTolerance, smoothing));
+    }
+}
@@ -0,0 +1,66 @@
+package com.hyperativa.card.reactive;
+
+import com.hyperativa.card.config.AdaptiveConcurrencyLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * WebFlux counterpart of ConcurrencyLimitFilter: sheds card requests with 503
+ * once {@link AdaptiveConcurrencyLimiter} is full. It runs ahead of Spring
+ * Security's filter chain so shedding costs less than verifying a JWT. The slot
+ * is released when the response completes, fails or is cancelled; only completed
+ * responses are latency samples.
+ */
+public class ReactiveConcurrencyLimitFilter implements WebFilter, Ordered {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveConcurrencyLimitFilter.class);
+
+    // Spring Security's WebFilterChainProxy runs at -100
+    private static final int ORDER = -101;
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public ReactiveConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String path = exchange.getRequest().getPath().pathWithinApplication().value();
+        if (!path.equals("/cards") && !path.startsWith("/cards/")) {
+            return chain.filter(exchange);
+        }
+
+        int inflightAtStart = limiter.tryAcquire();
+        if (inflightAtStart < 0) {
+            return shed(exchange);
+        }
+
+        long start = System.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signal -> limiter.release(
+                        signal == SignalType.ON_COMPLETE ? System.nanoTime() - start : 0, inflightAtStart));
+    }
+
+    private Mono<Void> shed(ServerWebExchange exchange) {
+        log.debug("Shedding {} {}: {} limit {} reached", exchange.getRequest().getMethod(),
+                exchange.getRequest().getPath().value(), limiter.getName(), limiter.getLimit());
+
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+        return ReactiveErrors.write(exchange, HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable",
+                "Server is at capacity, please retry shortly");
+    }
+}
@@ -0,0 +1,46 @@
+package com.hyperativa.card.reactive;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JSON error bodies written by the reactive filters, in the same shape as the
+ * servlet application's entry point, access denied handler and limit filters.
+ */
+final class ReactiveErrors {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ReactiveErrors() {
+    }
+
+    static Mono<Void> write(ServerWebExchange exchange, HttpStatus status, String error, String message) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", Instant.now().toString());
+        body.put("status", status.value());
+        body.put("error", error);
+        body.put("message", message);
+        body.put("path", exchange.getRequest().getPath().value());
+
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(new MediaType(MediaType.APPLICATION_JSON, StandardCharsets.UTF_8));
+        try {
+            DataBuffer buffer = response.bufferFactory().wrap(objectMapper.writeValueAsBytes(body));
+            return response.writeWith(Mono.just(buffer));
+        } catch (JsonProcessingException ex) {
+            return Mono.error(ex);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.hyperativa.card.reactive;
+
+import com.hyperativa.card.security.JwtPrincipal;
+import com.hyperativa.card.security.JwtTokenProvider;
+import com.hyperativa.card.security.VerifiedTokenCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.Optional;
+
+/**
+ * WebFlux counterpart of JwtAuthenticationFilter. Verification runs on the event
+ * loop: it is a single HMAC check, and skipped entirely for tokens already in the
+ * VerifiedTokenCache. Requests without a valid token continue unauthenticated and
+ * are rejected by the authorization rules.
+ */
+public class ReactiveJwtAuthenticationFilter implements WebFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveJwtAuthenticationFilter.class);
+
+    private final JwtTokenProvider tokenProvider;
+    private final VerifiedTokenCache tokenCache;
+
+    public ReactiveJwtAuthenticationFilter(JwtTokenProvider tokenProvider, VerifiedTokenCache tokenCache) {
+        this.tokenProvider = tokenProvider;
+        this.tokenCache = tokenCache;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String bearerToken = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (!StringUtils.hasText(bearerToken) || !bearerToken.startsWith("Bearer ")) {
+            return chain.filter(exchange);
+        }
+
+        Optional<JwtPrincipal> principal = tokenCache.resolve(bearerToken.substring(7), tokenProvider::parseToken);
+        if (principal.isEmpty()) {
+            return chain.filter(exchange);
+        }
+
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                principal.get().username(),
+                null,
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + principal.get().role()))
+        );
+        log.debug("User authenticated: {} with role: {}", principal.get().username(), principal.get().role());
+        return chain.filter(exchange)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+    }
+}
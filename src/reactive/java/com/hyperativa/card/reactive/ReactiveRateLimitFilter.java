@@ -0,0 +1,75 @@
+package com.hyperativa.card.reactive;
+
+import com.hyperativa.card.security.RateLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WebFlux counterpart of RateLimitFilter: applies {@link RateLimiter} to
+ * authenticated card requests, keyed by the JWT subject set by
+ * {@link ReactiveJwtAuthenticationFilter}. Rejected requests get 429 with Retry-After.
+ */
+public class ReactiveRateLimitFilter implements WebFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveRateLimitFilter.class);
+
+    private final RateLimiter rateLimiter;
+
+    public ReactiveRateLimitFilter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        RateLimiter.Endpoint endpoint = RateLimiter.Endpoint.of(
+                exchange.getRequest().getPath().pathWithinApplication().value());
+        if (endpoint == null) {
+            return chain.filter(exchange);
+        }
+
+        // Anonymous requests are rejected by the authorization rules anyway
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .filter(authentication -> authentication.isAuthenticated()
+                        && !(authentication instanceof AnonymousAuthenticationToken))
+                .map(authentication -> {
+                    long waitNanos = rateLimiter.tryAcquire(endpoint, isAdmin(authentication), authentication.getName());
+                    if (waitNanos > 0) {
+                        log.debug("Rate limit exceeded by {} on {}", authentication.getName(),
+                                exchange.getRequest().getPath().value());
+                    }
+                    return waitNanos;
+                })
+                .defaultIfEmpty(0L)
+                .flatMap(waitNanos -> waitNanos > 0 ? reject(exchange, waitNanos) : chain.filter(exchange));
+    }
+
+    private static boolean isAdmin(Authentication authentication) {
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if ("ROLE_ADMIN".equals(authority.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Mono<Void> reject(ServerWebExchange exchange, long waitNanos) {
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        return ReactiveErrors.write(exchange, HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests",
+                "Rate limit exceeded, retry after " + retryAfterSeconds + "s");
+    }
+}
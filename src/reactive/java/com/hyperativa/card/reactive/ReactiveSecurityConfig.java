@@ -0,0 +1,79 @@
+package com.hyperativa.card.reactive;
+
+import com.hyperativa.card.security.JwtTokenProvider;
+import com.hyperativa.card.security.RateLimiter;
+import com.hyperativa.card.security.VerifiedTokenCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.security.web.server.util.matcher.AndServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Same rules as SecurityConfig for the reactive endpoints: stateless, JWT only,
+ * health open, Prometheus open only on an internal management port and for
+ * ADMIN elsewhere, everything else authenticated, and the same JSON
+ * bodies as JwtAuthenticationEntryPoint and JwtAccessDeniedHandler. Tokens are
+ * issued by the servlet application's /auth/login. The per-user rate limit runs
+ * right after authentication, as RateLimitFilter does; the concurrency limit is
+ * a separate filter ahead of this chain ({@link ReactiveConcurrencyLimitConfig}).
+ */
+@Configuration
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSecurityConfig {
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
+                                                         JwtTokenProvider tokenProvider,
+                                                         VerifiedTokenCache tokenCache,
+                                                         RateLimiter rateLimiter,
+                                                         @Value("${management.server.port:-1}") int managementPort,
+                                                         @Value("${server.port:8080}") int serverPort) {
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .logout(ServerHttpSecurity.LogoutSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint((exchange, ex) -> ReactiveErrors.write(exchange, HttpStatus.UNAUTHORIZED,
+                                "Unauthorized", "JWT token missing, invalid or expired. Login at /api/auth/login"))
+                        .accessDeniedHandler((exchange, ex) -> ReactiveErrors.write(exchange, HttpStatus.FORBIDDEN,
+                                "Forbidden", "You don't have permission to access this resource")))
+                .authorizeExchange(exchanges -> exchanges
+                        .pathMatchers("/actuator/health/**").permitAll()
+                        .matchers(new AndServerWebExchangeMatcher(internalManagementPort(managementPort, serverPort),
+                                ServerWebExchangeMatchers.pathMatchers("/actuator/prometheus"))).permitAll()
+                        .pathMatchers("/actuator/prometheus").hasRole("ADMIN")
+                        .anyExchange().authenticated())
+                .addFilterAt(new ReactiveJwtAuthenticationFilter(tokenProvider, tokenCache),
+                        SecurityWebFiltersOrder.AUTHENTICATION)
+                .addFilterAfter(new ReactiveRateLimitFilter(rateLimiter), SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+
+    /**
+     * Requests received on management.server.port when it is set apart from the
+     * application port; that port is expected to be reachable only internally.
+     */
+    private static ServerWebExchangeMatcher internalManagementPort(int managementPort, int serverPort) {
+        boolean separate = managementPort > 0 && managementPort != serverPort;
+        return exchange -> {
+            InetSocketAddress local = exchange.getRequest().getLocalAddress();
+            return separate && local != null && local.getPort() == managementPort
+                    ? ServerWebExchangeMatcher.MatchResult.match()
+                    : ServerWebExchangeMatcher.MatchResult.notMatch();
+        };
+    }
+}
@@ -0,0 +1,148 @@
+package com.hyperativa.card.reactive;
+
+import com.hyperativa.card.security.JwtTokenProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = ReactiveCardApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.main.web-application-type=reactive")
+@ActiveProfiles("reactive")
+class ReactiveCardControllerTest {
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        token = tokenProvider.generateToken("admin", "ADMIN");
+    }
+
+    @Test
+    void create_ThenExists_ShouldReturnSameId() {
+        // Arrange
+        long cardNumber = 4456897999990001L;
+
+        // Act
+        Map<?, ?> created = client.post().uri("/cards")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("cardNumber", cardNumber))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Map.class).returnResult().getResponseBody();
+
+        // Assert
+        assertNotNull(created);
+        assertNotNull(created.get("id"));
+        client.get().uri("/cards/exists?cardNumber={n}", cardNumber)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.id").isEqualTo(created.get("id"));
+    }
+
+    @Test
+    void create_DuplicateCard_ShouldReturnBadRequest() {
+        // Arrange
+        long cardNumber = 4456897999990002L;
+        post(cardNumber).expectStatus().isOk();
+
+        // Act & Assert
+        post(cardNumber).expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.status").isEqualTo(400);
+    }
+
+    @Test
+    void create_WithIdempotencyKey_ShouldReturnBadRequest() {
+        // Act & Assert
+        client.post().uri("/cards")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .header("Idempotency-Key", "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("cardNumber", 4456897999990003L))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Idempotency-Key is not supported by the reactive API");
+    }
+
+    @Test
+    void exists_UnknownCard_ShouldReturnNotFound() {
+        // Act & Assert
+        client.get().uri("/cards/exists?cardNumber=4456897999999998")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Not Found")
+                .jsonPath("$.message").isEqualTo("Card not found");
+    }
+
+    @Test
+    void exists_WithoutToken_ShouldReturnUnauthorized() {
+        // Act & Assert
+        client.get().uri("/cards/exists?cardNumber=4456897999999998")
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("JWT token missing, invalid or expired. Login at /api/auth/login")
+                .jsonPath("$.path").isEqualTo("/api/cards/exists");
+    }
+
+    @Test
+    void exists_WithTamperedToken_ShouldReturnUnauthorized() {
+        // Arrange
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        // Act & Assert
+        client.get().uri("/cards/exists?cardNumber=4456897999999998")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + tampered)
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void health_ShouldBeOpen() {
+        // Act & Assert
+        client.get().uri("/actuator/health")
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    void prometheus_ShouldRequireAdminToken() {
+        // Arrange
+        String userToken = tokenProvider.generateToken("user", "USER");
+
+        // Act & Assert
+        client.get().uri("/actuator/prometheus")
+                .exchange()
+                .expectStatus().isUnauthorized();
+        client.get().uri("/actuator/prometheus")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken)
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+
+    private WebTestClient.ResponseSpec post(long cardNumber) {
+        return client.post().uri("/cards")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("cardNumber", cardNumber))
+                .exchange();
+    }
+}
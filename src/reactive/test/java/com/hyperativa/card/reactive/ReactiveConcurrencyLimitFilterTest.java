@@ -0,0 +1,60 @@
+package com.hyperativa.card.reactive;
+
+import com.hyperativa.card.config.AdaptiveConcurrencyLimiter;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReactiveConcurrencyLimitFilterTest {
+
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("cards", 1, 1, 1, 1.5, 0.2);
+    private final ReactiveConcurrencyLimitFilter filter = new ReactiveConcurrencyLimitFilter(limiter);
+
+    @Test
+    void filter_ShouldShedWith503_UntilInFlightRequestCompletes() {
+        // Arrange
+        Sinks.Empty<Void> inFlight = Sinks.empty();
+        Disposable first = filter.filter(exchange("/api/cards/exists"), exchange -> inFlight.asMono()).subscribe();
+
+        // Act
+        MockServerWebExchange shed = exchange("/api/cards/exists");
+        filter.filter(shed, exchange -> Mono.empty()).block();
+        inFlight.tryEmitEmpty();
+        AtomicBoolean passed = new AtomicBoolean();
+        filter.filter(exchange("/api/cards"), exchange -> Mono.fromRunnable(() -> passed.set(true))).block();
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, shed.getResponse().getStatusCode());
+        assertEquals("1", shed.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertTrue(passed.get(), "The slot is free again once the first response completed");
+        assertEquals(0, limiter.getInflight());
+        first.dispose();
+    }
+
+    @Test
+    void filter_ShouldNotLimit_PathsOutsideCards() {
+        // Arrange
+        filter.filter(exchange("/api/cards/exists"), exchange -> Mono.never()).subscribe();
+
+        // Act
+        MockServerWebExchange health = exchange("/api/actuator/health");
+        filter.filter(health, exchange -> Mono.empty()).block();
+
+        // Assert
+        assertNull(health.getResponse().getStatusCode());
+        assertEquals(1, limiter.getInflight());
+    }
+
+    private static MockServerWebExchange exchange(String path) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path).contextPath("/api"));
+    }
+}
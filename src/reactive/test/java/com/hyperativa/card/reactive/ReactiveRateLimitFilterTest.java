@@ -0,0 +1,64 @@
+package com.hyperativa.card.reactive;
+
+import com.hyperativa.card.security.RateLimiter;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReactiveRateLimitFilterTest {
+
+    private final ReactiveRateLimitFilter filter =
+            new ReactiveRateLimitFilter(new RateLimiter(true, "USER=1:1,ADMIN=1:1", "", ""));
+
+    @Test
+    void filter_ShouldRejectWith429_WhenPrincipalExceedsLimit() {
+        // Arrange
+        Authentication user = new UsernamePasswordAuthenticationToken("user", null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        MockServerWebExchange first = exchange();
+        MockServerWebExchange second = exchange();
+
+        // Act
+        run(first, user);
+        run(second, user);
+
+        // Assert
+        assertNull(first.getResponse().getStatusCode());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, second.getResponse().getStatusCode());
+        assertEquals("1", second.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void filter_ShouldNotLimit_AnonymousRequests() {
+        // Arrange
+        MockServerWebExchange last = exchange();
+
+        // Act
+        filter.filter(exchange(), exchange -> Mono.empty()).block();
+        filter.filter(last, exchange -> Mono.empty()).block();
+
+        // Assert
+        assertNull(last.getResponse().getStatusCode());
+    }
+
+    private void run(MockServerWebExchange exchange, Authentication authentication) {
+        filter.filter(exchange, chained -> Mono.empty())
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication))
+                .block();
+    }
+
+    private static MockServerWebExchange exchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/cards/exists").contextPath("/api"));
+    }
+}
@@ -0,0 +1,321 @@
+package com.hyperativa.card.reactive;
+
+import com.hyperativa.card.CardApplication;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs the servlet (CardApplication) and reactive (ReactiveCardApplication) stacks
+ * one after the other, each in its own JVM with the same heap on the test H2
+ * database, and drives GET /cards/exists at each concurrency level with that many
+ * closed-loop clients, one connection each. Reports throughput, latency
+ * percentiles, server thread count, and resident memory above idle divided by
+ * the number of connections.
+ *
+ * Memory comes from /proc/<pid>/status (VmRSS, Threads), so it is reported on
+ * Linux only. Rate and concurrency limits are off in the servlet stack so both
+ * are measured without load shedding.
+ *
+ * mvn -Preactive,reactive-compare test -DskipTests -Dcompare.args="concurrency=256,4096 duration=30s"
+ *
+ * Driver settings (key=value): stacks (servlet,reactive), concurrency (list),
+ * warmup, duration, seed-cards, heap. Arguments starting with -- go to both
+ * applications.
+ */
+public final class StackComparisonDriver {
+
+    enum Stack {
+        SERVLET(CardApplication.class),
+        REACTIVE(ReactiveCardApplication.class);
+
+        final Class<?> mainClass;
+
+        Stack(Class<?> mainClass) {
+            this.mainClass = mainClass;
+        }
+    }
+
+    record Settings(List<Stack> stacks, List<Integer> concurrency, Duration warmup, Duration duration,
+                    int seedCards, String heap, List<String> appArgs) {
+
+        static Settings parse(String[] args) {
+            Map<String, String> driver = new LinkedHashMap<>();
+            List<String> app = new ArrayList<>(List.of(
+                    "--app.ratelimit.enabled=false",
+                    "--app.concurrency-limit.enabled=false",
+                    "--logging.level.root=WARN",
+                    "--logging.level.com.hyperativa.card=ERROR",
+                    "--spring.main.banner-mode=off"));
+            for (String arg : args) {
+                if (arg.startsWith("--")) {
+                    app.add(arg);
+                } else {
+                    String[] pair = arg.split("=", 2);
+                    driver.put(pair[0], pair.length > 1 ? pair[1] : "true");
+                }
+            }
+
+            List<Stack> stacks = new ArrayList<>();
+            for (String name : driver.getOrDefault("stacks", "servlet,reactive").split(",")) {
+                stacks.add(Stack.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+            }
+            List<Integer> concurrency = new ArrayList<>();
+            for (String level : driver.getOrDefault("concurrency", "64,512,2048").split(",")) {
+                concurrency.add(Integer.parseInt(level.trim()));
+            }
+            return new Settings(stacks, concurrency,
+                    DurationStyle.detectAndParse(driver.getOrDefault("warmup", "5s")),
+                    DurationStyle.detectAndParse(driver.getOrDefault("duration", "20s")),
+                    Integer.parseInt(driver.getOrDefault("seed-cards", "1000")),
+                    driver.getOrDefault("heap", "512m"),
+                    app);
+        }
+    }
+
+    /**
+     * Process memory and threads read from /proc; zero where /proc is not available.
+     */
+    record ProcessSample(long rssKb, int threads) {
+
+        static ProcessSample of(long pid) {
+            Path status = Path.of("/proc", String.valueOf(pid), "status");
+            long rss = 0;
+            int threads = 0;
+            try {
+                for (String line : Files.readAllLines(status)) {
+                    if (line.startsWith("VmRSS:")) {
+                        rss = Long.parseLong(line.replaceAll("\\D", ""));
+                    } else if (line.startsWith("Threads:")) {
+                        threads = Integer.parseInt(line.replaceAll("\\D", ""));
+                    }
+                }
+            } catch (IOException | NumberFormatException ex) {
+                // Not Linux, or the process is gone
+            }
+            return new ProcessSample(rss, threads);
+        }
+
+        ProcessSample max(ProcessSample other) {
+            return new ProcessSample(Math.max(rssKb, other.rssKb), Math.max(threads, other.threads));
+        }
+    }
+
+    static final class Result {
+        final Histogram latencyMicros = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+        final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        final LongAdder failures = new LongAdder();
+        long elapsedNanos;
+        ProcessSample peak = new ProcessSample(0, 0);
+
+        void record(int status) {
+            statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+        }
+    }
+
+    private final Settings settings;
+    private final String token;
+    private final AtomicLong nextCardNumber = new AtomicLong(5_000_000_000_000_000L);
+
+    StackComparisonDriver(Settings settings, String token) {
+        this.settings = settings;
+        this.token = token;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Settings settings = Settings.parse(args);
+        StackComparisonDriver driver = new StackComparisonDriver(settings, adminToken());
+
+        System.out.printf("%nStack comparison: GET /cards/exists, %s warm-up, %s per level, -Xmx%s%n",
+                settings.warmup(), settings.duration(), settings.heap());
+        for (Stack stack : settings.stacks()) {
+            driver.compare(stack);
+        }
+    }
+
+    /**
+     * Token signed with the test secret, accepted by both stacks.
+     */
+    private static String adminToken() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = StackComparisonDriver.class.getResourceAsStream("/application.properties")) {
+            properties.load(in);
+        }
+        String secret = properties.getProperty("app.jwt.secret");
+        return Jwts.builder()
+                .subject("admin")
+                .claim("role", "ADMIN")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    private void compare(Stack stack) throws Exception {
+        int port = freePort();
+        File log = File.createTempFile("stack-" + stack.name().toLowerCase(Locale.ROOT), ".log");
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-Xms" + settings.heap(), "-Xmx" + settings.heap(),
+                "-cp", System.getProperty("java.class.path"),
+                stack.mainClass.getName(),
+                "--server.port=" + port));
+        command.addAll(settings.appArgs());
+        Process server = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log).start();
+
+        try {
+            String baseUrl = "http://localhost:" + port + "/api";
+            HttpClient setupClient = HttpClient.newHttpClient();
+            awaitHealthy(setupClient, baseUrl, server, log);
+            seed(setupClient, baseUrl);
+            System.gc();
+            ProcessSample idle = ProcessSample.of(server.pid());
+            System.out.printf(Locale.ROOT, "%n%s (pid %d): idle RSS %.1f MiB, %d threads%n",
+                    stack, server.pid(), idle.rssKb() / 1024.0, idle.threads());
+
+            for (int clients : settings.concurrency()) {
+                run(baseUrl, server.pid(), clients, settings.warmup());
+                report(clients, idle, run(baseUrl, server.pid(), clients, settings.duration()));
+            }
+        } finally {
+            server.destroy();
+            if (!server.waitFor(30, TimeUnit.SECONDS)) {
+                server.destroyForcibly();
+            }
+        }
+    }
+
+    private static void awaitHealthy(HttpClient client, String baseUrl, Process server, File log)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(2);
+        HttpRequest health = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health")).build();
+        while (System.nanoTime() < deadline) {
+            if (!server.isAlive()) {
+                throw new IllegalStateException("Application exited, see " + log);
+            }
+            try {
+                if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException ex) {
+                // Not listening yet
+            }
+            Thread.sleep(250);
+        }
+        throw new IllegalStateException("Application did not become healthy, see " + log);
+    }
+
+    private void seed(HttpClient client, String baseUrl) throws IOException, InterruptedException {
+        for (int i = 0; i < settings.seedCards(); i++) {
+            HttpResponse<Void> response = client.send(authorized(baseUrl + "/cards")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"cardNumber\":" + (nextCardNumber.get() + i) + "}"))
+                    .build(), HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding failed with status " + response.statusCode());
+            }
+        }
+    }
+
+    /**
+     * Each client sends its next request when the previous one completes, so the
+     * number of requests (and connections) in flight equals the number of clients.
+     */
+    private Result run(String baseUrl, long pid, int clients, Duration duration) throws InterruptedException {
+        // A fresh client per run so connections of the previous level are not reused
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        Result result = new Result();
+        CountDownLatch done = new CountDownLatch(clients);
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        for (int i = 0; i < clients; i++) {
+            next(client, baseUrl, deadline, result, done);
+        }
+        while (!done.await(500, TimeUnit.MILLISECONDS)) {
+            result.peak = result.peak.max(ProcessSample.of(pid));
+        }
+        result.elapsedNanos = System.nanoTime() - start;
+        return result;
+    }
+
+    private void next(HttpClient client, String baseUrl, long deadline, Result result, CountDownLatch done) {
+        if (System.nanoTime() >= deadline) {
+            done.countDown();
+            return;
+        }
+        long cardNumber = nextCardNumber.get() + ThreadLocalRandom.current().nextInt(settings.seedCards());
+        HttpRequest request = authorized(baseUrl + "/cards/exists?cardNumber=" + cardNumber).GET().build();
+        long start = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            if (error != null) {
+                result.failures.increment();
+            } else {
+                result.latencyMicros.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start),
+                        result.latencyMicros.getHighestTrackableValue()));
+                result.record(response.statusCode());
+            }
+            next(client, baseUrl, deadline, result, done);
+        });
+    }
+
+    private HttpRequest.Builder authorized(String url) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofMinutes(1))
+                .header("Authorization", "Bearer " + token);
+    }
+
+    private static void report(int clients, ProcessSample idle, Result result) {
+        Histogram h = result.latencyMicros;
+        double seconds = result.elapsedNanos / 1e9;
+        long extraKb = Math.max(0, result.peak.rssKb() - idle.rssKb());
+        System.out.printf(Locale.ROOT,
+                "%6d conns %10.1f req/s  p50 %8.2f ms  p99 %8.2f ms  max %8.2f ms  threads %5d"
+                        + "  RSS %7.1f MiB  +%6.1f KiB/conn  statuses %s  io-failures %d%n",
+                clients, h.getTotalCount() / seconds,
+                millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(99)), millis(h.getMaxValue()),
+                result.peak.threads(), result.peak.rssKb() / 1024.0, (double) extraKb / clients,
+                new TreeMap<>(result.statuses), result.failures.sum());
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
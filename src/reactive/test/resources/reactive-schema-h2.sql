@@ -0,0 +1,6 @@
+CREATE TABLE IF NOT EXISTS cards (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    card_number BIGINT NOT NULL UNIQUE,
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
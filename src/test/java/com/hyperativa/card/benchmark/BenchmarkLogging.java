@@ -0,0 +1,20 @@
+package com.hyperativa.card.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Benchmarks run outside Spring Boot, where logback would default to DEBUG on
+ * the console and measure the terminal instead of the code. Logging is switched
+ * off entirely: invalid tokens and malformed lines log at ERROR on every call.
+ */
+final class BenchmarkLogging {
+
+    private BenchmarkLogging() {
+    }
+
+    static void quiet() {
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.OFF);
+    }
+}
@@ -0,0 +1,245 @@
+package com.hyperativa.card.benchmark;
+
+import com.hyperativa.card.CardApplication;
+import com.hyperativa.card.config.StatementCounter;
+import com.hyperativa.card.model.Card;
+import com.hyperativa.card.repository.CardRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write strategies for card insertion, each run against the application's own
+ * DataSource and schema (H2 from the test properties by default). One operation
+ * inserts one batch of batchSize card numbers, of which duplicateRatio already
+ * exist in the table; the table is truncated and re-seeded every iteration.
+ *
+ * The auxiliary counters give rows/s, statements/s and commits/s per strategy
+ * (statements count database round trips: a JDBC batch is one), read from a
+ * StatementCounter scope around each operation, as the application counts them.
+ * saveAll never batches its inserts here: Card ids use IDENTITY generation,
+ * which makes Hibernate insert row by row whatever hibernate.jdbc.batch_size says.
+ *
+ * mvn -Pbenchmark test -DskipTests -Djmh.args="CardInsertStrategyBenchmark"
+ * MySQL: add -jvmArgsAppend "-Dspring.datasource.url=jdbc:mysql://localhost:3306/card_db?rewriteBatchedStatements=true
+ *        -Dspring.datasource.username=... -Dspring.datasource.password=...
+ *        -Dspring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class CardInsertStrategyBenchmark {
+
+    private static final int SEEDED_ROWS = 10_000;
+    private static final long FIRST_CARD = 4456897900000000L;
+
+    public enum Strategy {
+        /** Current FileUploadServiceImpl loop: findByCardNumber, then save, each in its own transaction. */
+        PER_ROW,
+        /** One transaction per batch: findByCardNumberIn for existing numbers, then saveAll. */
+        SAVE_ALL,
+        /** One transaction per batch: IN query for existing numbers, then JdbcTemplate.batchUpdate. */
+        JDBC_BATCH,
+        /** One transaction per batch: IN query for existing numbers, then one INSERT with a VALUES row per card. */
+        MULTI_ROW,
+        /** One transaction per batch: batched insert-if-absent, the database resolves duplicates. */
+        UPSERT
+    }
+
+    @Param({"PER_ROW", "SAVE_ALL", "JDBC_BATCH", "MULTI_ROW", "UPSERT"})
+    public Strategy strategy;
+
+    @Param({"100", "1000"})
+    public int batchSize;
+
+    @Param({"0.0", "0.3"})
+    public double duplicateRatio;
+
+    private ConfigurableApplicationContext context;
+    private CardRepository repository;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate transaction;
+    private String upsertSql;
+
+    private SplittableRandom random;
+    private long nextCard;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Work {
+        public long rows;
+        public long statements;
+        public long commits;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rows = 0;
+            statements = 0;
+            commits = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() throws SQLException {
+        BenchmarkLogging.quiet();
+        context = new SpringApplicationBuilder(CardApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("app.warmup.enabled=false",
+                        "logging.level.root=WARN",
+                        "logging.level.com.hyperativa.card=ERROR",
+                        "spring.main.banner-mode=off",
+                        "app.db.statement-counting.enabled=true",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                        "spring.jpa.properties.hibernate.order_inserts=true")
+                .run();
+        repository = context.getBean(CardRepository.class);
+        DataSource dataSource = context.getBean(DataSource.class);
+        jdbc = new JdbcTemplate(dataSource);
+        transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        try (Connection connection = dataSource.getConnection()) {
+            upsertSql = connection.getMetaData().getDatabaseProductName().startsWith("MySQL")
+                    ? "INSERT INTO cards (card_number, created_at) VALUES (?, ?) "
+                            + "ON DUPLICATE KEY UPDATE card_number = card_number"
+                    : "MERGE INTO cards c USING (VALUES (CAST(? AS BIGINT), CAST(? AS TIMESTAMP))) "
+                            + "v(card_number, created_at) ON c.card_number = v.card_number "
+                            + "WHEN NOT MATCHED THEN INSERT (card_number, created_at) "
+                            + "VALUES (v.card_number, v.created_at)";
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void resetTable() {
+        jdbc.execute("TRUNCATE TABLE cards");
+        List<Object[]> seed = new ArrayList<>(SEEDED_ROWS);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < SEEDED_ROWS; i++) {
+            seed.add(new Object[]{FIRST_CARD + i, now});
+        }
+        jdbc.batchUpdate("INSERT INTO cards (card_number, created_at) VALUES (?, ?)", seed);
+        random = new SplittableRandom(42);
+        nextCard = FIRST_CARD + SEEDED_ROWS;
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int insertBatch(Work work) {
+        List<Long> batch = nextBatch();
+        try (StatementCounter.Scope scope = StatementCounter.open("insert-batch")) {
+            int inserted = switch (strategy) {
+                case PER_ROW -> perRow(batch);
+                case SAVE_ALL -> transaction.execute(status -> saveAll(batch));
+                case JDBC_BATCH -> transaction.execute(status -> jdbcBatch(batch));
+                case MULTI_ROW -> transaction.execute(status -> multiRow(batch));
+                case UPSERT -> transaction.execute(status -> upsert(batch));
+            };
+
+            work.rows += batch.size();
+            work.statements += scope.statements();
+            work.commits += scope.commits();
+            return inserted;
+        }
+    }
+
+    private List<Long> nextBatch() {
+        List<Long> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            batch.add(random.nextDouble() < duplicateRatio
+                    ? FIRST_CARD + random.nextInt(SEEDED_ROWS)
+                    : nextCard++);
+        }
+        return batch;
+    }
+
+    private int perRow(List<Long> batch) {
+        Set<Long> seenInBatch = new HashSet<>();
+        int inserted = 0;
+        for (Long cardNumber : batch) {
+            if (!seenInBatch.contains(cardNumber) && repository.findByCardNumber(cardNumber).isEmpty()) {
+                repository.save(new Card(cardNumber));
+                seenInBatch.add(cardNumber);
+                inserted++;
+            }
+        }
+        return inserted;
+    }
+
+    private int saveAll(List<Long> batch) {
+        Set<Long> fresh = new LinkedHashSet<>(batch);
+        repository.findByCardNumberIn(fresh).forEach(card -> fresh.remove(card.getCardNumber()));
+        List<Card> cards = new ArrayList<>(fresh.size());
+        fresh.forEach(cardNumber -> cards.add(new Card(cardNumber)));
+        return repository.saveAll(cards).size();
+    }
+
+    private int jdbcBatch(List<Long> batch) {
+        List<Long> fresh = withoutExisting(batch);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(fresh.size());
+        fresh.forEach(cardNumber -> rows.add(new Object[]{cardNumber, now}));
+        jdbc.batchUpdate("INSERT INTO cards (card_number, created_at) VALUES (?, ?)", rows);
+        return fresh.size();
+    }
+
+    private int multiRow(List<Long> batch) {
+        List<Long> fresh = withoutExisting(batch);
+        if (fresh.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Object[] args = new Object[fresh.size() * 2];
+        for (int i = 0; i < fresh.size(); i++) {
+            args[2 * i] = fresh.get(i);
+            args[2 * i + 1] = now;
+        }
+        return jdbc.update("INSERT INTO cards (card_number, created_at) VALUES "
+                + String.join(", ", Collections.nCopies(fresh.size(), "(?, ?)")), args);
+    }
+
+    private int upsert(List<Long> batch) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        batch.forEach(cardNumber -> rows.add(new Object[]{cardNumber, now}));
+        int inserted = 0;
+        for (int count : jdbc.batchUpdate(upsertSql, rows)) {
+            inserted += Math.max(count, 0);
+        }
+        return inserted;
+    }
+
+    /**
+     * Distinct numbers of the batch not yet in the table, found with one IN query.
+     */
+    private List<Long> withoutExisting(List<Long> batch) {
+        Set<Long> fresh = new LinkedHashSet<>(batch);
+        jdbc.queryForList("SELECT card_number FROM cards WHERE card_number IN ("
+                        + String.join(", ", Collections.nCopies(fresh.size(), "?")) + ")",
+                Long.class, fresh.toArray())
+                .forEach(fresh::remove);
+        return new ArrayList<>(fresh);
+    }
+}
@@ -0,0 +1,135 @@
+package com.hyperativa.card.benchmark;
+
+import com.hyperativa.card.security.JwtAuthenticationFilter;
+import com.hyperativa.card.security.JwtTokenProvider;
+import com.hyperativa.card.security.VerifiedTokenCache;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the JWT hot path every authenticated request pays: token generation,
+ * validation, claim extraction and the whole JwtAuthenticationFilter against a
+ * mock request, for valid and invalid tokens. Filter benchmarks also run on four
+ * threads sharing one filter and token cache; use -t to try other counts.
+ *
+ * mvn -Pbenchmark test -DskipTests -Djmh.args="JwtAuthenticationBenchmark -prof gc"
+ * mvn -Pbenchmark test -DskipTests -Djmh.args="JwtAuthenticationBenchmark.filter -p tokenKind=VALID -p cache=false"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationBenchmark {
+
+    private static final String SECRET =
+            "hyperativaSecretKeyForJWTTokenGenerationMustBeAtLeast256BitsLongForHS256Algorithm";
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    public enum TokenKind { VALID, TAMPERED, EXPIRED, MALFORMED }
+
+    @Param({"VALID", "TAMPERED", "EXPIRED", "MALFORMED"})
+    public TokenKind tokenKind;
+
+    @Param({"true", "false"})
+    public boolean cache;
+
+    private JwtTokenProvider tokenProvider;
+    private JwtAuthenticationFilter filter;
+    private String token;
+
+    @State(Scope.Thread)
+    public static class Exchange {
+        MockHttpServletRequest request;
+        MockHttpServletResponse response;
+
+        @Setup
+        public void setUp(JwtAuthenticationBenchmark benchmark) {
+            request = new MockHttpServletRequest("GET", "/cards/exists");
+            request.addHeader("Authorization", "Bearer " + benchmark.token);
+            response = new MockHttpServletResponse();
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        BenchmarkLogging.quiet();
+        tokenProvider = provider(3_600_000L);
+        token = switch (tokenKind) {
+            case VALID -> tokenProvider.generateToken("admin", "ADMIN");
+            case TAMPERED -> tamper(tokenProvider.generateToken("admin", "ADMIN"));
+            case EXPIRED -> provider(-60_000L).generateToken("admin", "ADMIN");
+            case MALFORMED -> "not.a.jwt";
+        };
+        VerifiedTokenCache tokenCache = new VerifiedTokenCache(cache, 10_000, 16,
+                Duration.ofMinutes(5), Duration.ofSeconds(5), 1_000);
+        filter = new JwtAuthenticationFilter(tokenProvider, tokenCache);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenProvider.generateToken("admin", "ADMIN");
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+
+    /**
+     * Claim getters throw on invalid tokens, so the exception path is part of the score.
+     */
+    @Benchmark
+    public String extractClaims() {
+        try {
+            return tokenProvider.getUsernameFromToken(token) + tokenProvider.getRoleFromToken(token);
+        } catch (RuntimeException ex) {
+            return ex.getClass().getName();
+        }
+    }
+
+    @Benchmark
+    public Authentication filter(Exchange exchange) throws ServletException, IOException {
+        return runFilter(exchange);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Authentication filterContended(Exchange exchange) throws ServletException, IOException {
+        return runFilter(exchange);
+    }
+
+    private Authentication runFilter(Exchange exchange) throws ServletException, IOException {
+        try {
+            filter.doFilter(exchange.request, exchange.response, NO_OP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private static JwtTokenProvider provider(long expirationMillis) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpiration", expirationMillis);
+        provider.init();
+        return provider;
+    }
+
+    private static String tamper(String jwt) {
+        char last = jwt.charAt(jwt.length() - 2);
+        return jwt.substring(0, jwt.length() - 2) + (last == 'A' ? 'B' : 'A') + jwt.charAt(jwt.length() - 1);
+    }
+}
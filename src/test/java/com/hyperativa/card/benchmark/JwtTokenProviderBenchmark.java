@@ -0,0 +1,89 @@
+package com.hyperativa.card.benchmark;
+
+import com.hyperativa.card.security.JwtPrincipal;
+import com.hyperativa.card.security.JwtTokenProvider;
+import com.hyperativa.card.security.VerifiedTokenCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-request cost of authenticating a JWT before and after
+ * JwtTokenProvider started parsing tokens once with a pre-built parser.
+ *
+ * mvn -Pbenchmark test -DskipTests -Djmh.args="JwtTokenProviderBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET =
+            "hyperativaSecretKeyForJWTTokenGenerationMustBeAtLeast256BitsLongForHS256Algorithm";
+
+    private JwtTokenProvider tokenProvider;
+    private VerifiedTokenCache tokenCache;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpiration", 3_600_000L);
+        tokenProvider.init();
+        token = tokenProvider.generateToken("admin", "ADMIN");
+        tokenCache = new VerifiedTokenCache(true, 10_000, 16, Duration.ofMinutes(5), Duration.ofSeconds(5), 1_000);
+    }
+
+    /**
+     * Previous filter path: validateToken, getUsernameFromToken and getRoleFromToken,
+     * each deriving the key and building a parser before verifying the signature.
+     */
+    @Benchmark
+    public void legacyThreeParses(Blackhole blackhole) {
+        Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token);
+
+        Claims usernameClaims = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+        blackhole.consume(usernameClaims.getSubject());
+
+        Claims roleClaims = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+        blackhole.consume(roleClaims.get("role", String.class));
+    }
+
+    /**
+     * Current filter path: one verification with the parser built at startup.
+     */
+    @Benchmark
+    public JwtPrincipal singleParse() {
+        return tokenProvider.parseToken(token).orElseThrow();
+    }
+
+    /**
+     * Reused token served from the verified-token cache (SHA-256 digest + lookup).
+     */
+    @Benchmark
+    public JwtPrincipal cachedParse() {
+        return tokenCache.resolve(token, tokenProvider::parseToken).orElseThrow();
+    }
+}
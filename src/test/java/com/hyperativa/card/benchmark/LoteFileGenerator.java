@@ -0,0 +1,262 @@
+package com.hyperativa.card.benchmark;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+/**
+ * Synthetic LOTE files in the DESAFIO-HYPERATIVA.txt layout, generated on the fly
+ * so even 10M-line files use constant memory. The same {@link Spec} always yields
+ * the same file: header and footer carry the detail line count, a share of
+ * detail lines repeat an earlier card number (duplicateRatio) or carry no usable
+ * number (malformedRatio), and card numbers are spread over minDigits..maxDigits.
+ *
+ * Writing a file to disk:
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.hyperativa.card.benchmark.LoteFileGenerator
+ *     -Dexec.args="target/lote-1m.txt 1000000 0.1 0.01 13 19"
+ */
+public final class LoteFileGenerator {
+
+    private static final long CARD_PREFIX = 4456897L;
+    private static final int PREFIX_DIGITS = 7;
+    private static final String LOTE = "LOTE0001";
+
+    /**
+     * @param lines          detail lines between header and footer
+     * @param duplicateRatio share of detail lines repeating an earlier card number
+     * @param malformedRatio share of detail lines without a parseable card number
+     * @param minDigits      shortest card number, at least 13
+     * @param maxDigits      longest card number, at most 19
+     * @param seed           seed for the line mix
+     */
+    public record Spec(long lines, double duplicateRatio, double malformedRatio,
+                       int minDigits, int maxDigits, long seed) {
+
+        public Spec {
+            if (minDigits < 13 || maxDigits > 19 || minDigits > maxDigits) {
+                throw new IllegalArgumentException("Card numbers must have 13 to 19 digits");
+            }
+        }
+
+        public static Spec of(long lines, double duplicateRatio, double malformedRatio, long seed) {
+            return new Spec(lines, duplicateRatio, malformedRatio, 16, 16, seed);
+        }
+
+        public Spec withSeed(long newSeed) {
+            return new Spec(lines, duplicateRatio, malformedRatio, minDigits, maxDigits, newSeed);
+        }
+
+        /**
+         * Card number of the n-th distinct card (0-based); the length only depends on n.
+         */
+        public long cardNumber(long n) {
+            int span = maxDigits - minDigits + 1;
+            int digits = minDigits + (int) Long.remainderUnsigned(n * 0x9E3779B97F4A7C15L >>> 32, span);
+            return CARD_PREFIX * pow10(digits - PREFIX_DIGITS) + n;
+        }
+    }
+
+    private LoteFileGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: LoteFileGenerator <file> <lines> [duplicateRatio] [malformedRatio] "
+                    + "[minDigits] [maxDigits] [seed]");
+            System.exit(1);
+        }
+        Spec spec = new Spec(Long.parseLong(args[1]),
+                args.length > 2 ? Double.parseDouble(args[2]) : 0.0,
+                args.length > 3 ? Double.parseDouble(args[3]) : 0.0,
+                args.length > 4 ? Integer.parseInt(args[4]) : 16,
+                args.length > 5 ? Integer.parseInt(args[5]) : 16,
+                args.length > 6 ? Long.parseLong(args[6]) : 42);
+        Path target = Path.of(args[0]);
+        write(spec, target);
+        System.out.printf("Wrote %d detail lines to %s%n", spec.lines(), target);
+    }
+
+    public static void write(Spec spec, Path target) throws IOException {
+        try (InputStream in = stream(spec); OutputStream out = Files.newOutputStream(target)) {
+            in.transferTo(out);
+        }
+    }
+
+    public static String header(long lines) {
+        return pad(String.format("%-29s%s%s%06d", "DESAFIO-HYPERATIVA", "20180524", LOTE, lines % 1_000_000));
+    }
+
+    public static String footer(long lines) {
+        return pad(String.format("%s%06d", LOTE, lines % 1_000_000));
+    }
+
+    static String detailLine(long index, long cardNumber) {
+        return pad(String.format("%-7s%d", "C" + index, cardNumber));
+    }
+
+    /**
+     * Alternates between a line without digits and one whose digits overflow a long,
+     * both of which the parser rejects.
+     */
+    static String malformedLine(long index) {
+        String body = index % 2 == 0 ? "XXXX-XXXX-XXXX" : "4456897999999999999999";
+        return pad(String.format("%-7s%s", "C" + index, body));
+    }
+
+    /**
+     * Distinct 16-digit detail lines for benchmarks that cycle over a fixed sample.
+     */
+    public static String[] detailLines(int count, double malformedRatio, long seed) {
+        Spec spec = Spec.of(count, 0.0, malformedRatio, seed);
+        SplittableRandom random = new SplittableRandom(seed);
+        String[] lines = new String[count];
+        for (int i = 0; i < count; i++) {
+            lines[i] = random.nextDouble() < malformedRatio
+                    ? malformedLine(i + 1)
+                    : detailLine(i + 1, spec.cardNumber(i));
+        }
+        return lines;
+    }
+
+    public static InputStream stream(long lines, double duplicateRatio, double malformedRatio, long seed) {
+        return stream(Spec.of(lines, duplicateRatio, malformedRatio, seed));
+    }
+
+    public static InputStream stream(Spec spec) {
+        return new LoteInputStream(spec);
+    }
+
+    public static MultipartFile multipartFile(long lines, double duplicateRatio, double malformedRatio, long seed) {
+        return multipartFile(Spec.of(lines, duplicateRatio, malformedRatio, seed));
+    }
+
+    public static MultipartFile multipartFile(Spec spec) {
+        return new GeneratedFile(spec);
+    }
+
+    private static String pad(String line) {
+        return line.length() >= 51 ? line : line + " ".repeat(51 - line.length());
+    }
+
+    private static long pow10(int exponent) {
+        long value = 1;
+        for (int i = 0; i < exponent; i++) {
+            value *= 10;
+        }
+        return value;
+    }
+
+    private static final class LoteInputStream extends InputStream {
+        private final Spec spec;
+        private final SplittableRandom random;
+
+        private long next; // 0 = header, 1..lines = details, lines + 1 = footer
+        private long distinctCards;
+        private byte[] current = new byte[0];
+        private int position;
+
+        LoteInputStream(Spec spec) {
+            this.spec = spec;
+            this.random = new SplittableRandom(spec.seed());
+        }
+
+        private boolean fill() {
+            if (position < current.length) {
+                return true;
+            }
+            long lines = spec.lines();
+            if (next > lines + 1) {
+                return false;
+            }
+            String line;
+            if (next == 0) {
+                line = header(lines);
+            } else if (next == lines + 1) {
+                line = footer(lines);
+            } else if (random.nextDouble() < spec.malformedRatio()) {
+                line = malformedLine(next);
+            } else if (distinctCards > 0 && random.nextDouble() < spec.duplicateRatio()) {
+                line = detailLine(next, spec.cardNumber(random.nextLong(distinctCards)));
+            } else {
+                line = detailLine(next, spec.cardNumber(distinctCards++));
+            }
+            next++;
+            current = (line + "\n").getBytes(StandardCharsets.US_ASCII);
+            position = 0;
+            return true;
+        }
+
+        @Override
+        public int read() {
+            return fill() ? current[position++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            int copied = 0;
+            while (copied < length && fill()) {
+                int chunk = Math.min(length - copied, current.length - position);
+                System.arraycopy(current, position, buffer, offset + copied, chunk);
+                position += chunk;
+                copied += chunk;
+            }
+            return copied == 0 ? -1 : copied;
+        }
+    }
+
+    private record GeneratedFile(Spec spec) implements MultipartFile {
+
+        @Override
+        public String getName() {
+            return "file";
+        }
+
+        @Override
+        public String getOriginalFilename() {
+            return "lote-" + spec.lines() + ".txt";
+        }
+
+        @Override
+        public String getContentType() {
+            return "text/plain";
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return false;
+        }
+
+        @Override
+        public long getSize() {
+            return (spec.lines() + 2) * 52;
+        }
+
+        @Override
+        public byte[] getBytes() throws IOException {
+            try (InputStream in = getInputStream()) {
+                return in.readAllBytes();
+            }
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return stream(spec);
+        }
+
+        @Override
+        public void transferTo(File dest) {
+            throw new UnsupportedOperationException("Generated files are streamed only");
+        }
+    }
+}
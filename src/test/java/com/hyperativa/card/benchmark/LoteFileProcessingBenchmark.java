@@ -0,0 +1,77 @@
+package com.hyperativa.card.benchmark;
+
+import com.hyperativa.card.dto.UploadResultDto;
+import com.hyperativa.card.repository.CardJdbcRepository;
+import com.hyperativa.card.service.impl.FileUploadServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full line loop of FileUploadServiceImpl.processCardFile on generated files
+ * from 1k to 10M lines, with a repository stub so only parsing, batching and
+ * bookkeeping are measured. Divide gc.alloc.rate.norm (-prof gc) by the line
+ * count for allocation per line.
+ *
+ * mvn -Pbenchmark test -DskipTests -Djmh.args="LoteFileProcessingBenchmark -prof gc"
+ * mvn -Pbenchmark test -DskipTests -Djmh.args="LoteFileProcessingBenchmark -p lines=1000,100000"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class LoteFileProcessingBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public long lines;
+
+    @Param({"0.0", "0.2"})
+    public double duplicateRatio;
+
+    @Param({"0.0", "0.01"})
+    public double malformedRatio;
+
+    private FileUploadServiceImpl service;
+    private MultipartFile file;
+
+    @Setup
+    public void setUp() {
+        BenchmarkLogging.quiet();
+        service = new FileUploadServiceImpl(stubJdbcRepository(), new SimpleMeterRegistry(),
+                FileUploadServiceImpl.LogMode.SUMMARY, 1000);
+        file = LoteFileGenerator.multipartFile(lines, duplicateRatio, malformedRatio, 42);
+    }
+
+    @Benchmark
+    public UploadResultDto processCardFile() {
+        return service.processCardFile(file);
+    }
+
+    /**
+     * Repository that never finds a stored card and accepts every insert,
+     * without recording invocations the way a mock would.
+     */
+    static CardJdbcRepository stubJdbcRepository() {
+        return new CardJdbcRepository(null) {
+            @Override
+            public Set<Long> findExistingCardNumbers(Collection<Long> cardNumbers) {
+                return Set.of();
+            }
+
+            @Override
+            public void insertAll(List<Long> cardNumbers) {
+            }
+
+            @Override
+            public void insert(long cardNumber) {
+            }
+        };
+    }
+}
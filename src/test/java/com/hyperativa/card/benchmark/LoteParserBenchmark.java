@@ -0,0 +1,59 @@
+package com.hyperativa.card.benchmark;
+
+import com.hyperativa.card.dto.UploadResultDto;
+import com.hyperativa.card.service.impl.LoteFileParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-line cost of the LOTE parser. With -prof gc, gc.alloc.rate.norm is the
+ * allocation per parsed line.
+ *
+ * mvn -Pbenchmark test -DskipTests -Djmh.args="LoteParserBenchmark -prof gc"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoteParserBenchmark {
+
+    private static final int SAMPLE_LINES = 4096; // power of two, cycled with a mask
+
+    @Param({"0.0", "0.05"})
+    public double malformedRatio;
+
+    private String header;
+    private String[] detailLines;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        BenchmarkLogging.quiet();
+        header = LoteFileGenerator.header(SAMPLE_LINES);
+        detailLines = LoteFileGenerator.detailLines(SAMPLE_LINES, malformedRatio, 42);
+    }
+
+    @Benchmark
+    public UploadResultDto parseHeader() {
+        UploadResultDto result = new UploadResultDto();
+        LoteFileParser.parseHeader(header, result);
+        return result;
+    }
+
+    @Benchmark
+    public Long parseCardNumber() {
+        return LoteFileParser.parseCardNumber(detailLines[index++ & (SAMPLE_LINES - 1)]);
+    }
+
+    /**
+     * Line classification done for every line of the file.
+     */
+    @Benchmark
+    public boolean classifyLine() {
+        String line = detailLines[index++ & (SAMPLE_LINES - 1)];
+        return LoteFileParser.isDetailLine(line) | LoteFileParser.isFooterLine(line);
+    }
+}
@@ -0,0 +1,118 @@
+package com.hyperativa.card.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.hyperativa.card.dto.UploadResultDto;
+import com.hyperativa.card.service.impl.FileUploadServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Upload throughput (lines per second) under each upload log mode, with the
+ * FileUploadServiceImpl logger writing to a file either directly (SYNC) or
+ * through the AsyncAppender settings of logback-spring.xml (ASYNC). Under
+ * PER_RECORD the async queue fills up and INFO lines are dropped rather than
+ * written, so ASYNC measures what the caller pays, not a complete log.
+ *
+ * mvn -Pbenchmark test -DskipTests -Djmh.args="UploadLoggingBenchmark"
+ * mvn -Pbenchmark test -DskipTests -Djmh.args="UploadLoggingBenchmark -p appender=SYNC -p sampleEvery=100,10000"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(UploadLoggingBenchmark.LINES)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class UploadLoggingBenchmark {
+
+    static final int LINES = 100_000;
+
+    public enum AppenderKind { SYNC, ASYNC }
+
+    @Param({"PER_RECORD", "SAMPLED", "SUMMARY"})
+    public FileUploadServiceImpl.LogMode mode;
+
+    @Param({"SYNC", "ASYNC"})
+    public AppenderKind appender;
+
+    @Param({"1000"})
+    public int sampleEvery;
+
+    private FileUploadServiceImpl service;
+    private MultipartFile file;
+    private Path logFile;
+    private Appender<ILoggingEvent> installed;
+
+    @Setup
+    public void setUp() throws IOException {
+        BenchmarkLogging.quiet();
+        logFile = Files.createTempFile("upload-logging", ".log");
+        installed = install(appender, logFile);
+
+        service = new FileUploadServiceImpl(LoteFileProcessingBenchmark.stubJdbcRepository(),
+                new SimpleMeterRegistry(), mode, sampleEvery);
+        file = LoteFileGenerator.multipartFile(LINES, 0.05, 0.0, 42);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Logger logger = (Logger) LoggerFactory.getLogger(FileUploadServiceImpl.class);
+        logger.detachAppender(installed);
+        installed.stop();
+        Files.deleteIfExists(logFile);
+    }
+
+    @Benchmark
+    public UploadResultDto processCardFile() {
+        return service.processCardFile(file);
+    }
+
+    private static Appender<ILoggingEvent> install(AppenderKind kind, Path target) {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p [%t] %logger{40} : %m%n");
+        encoder.start();
+
+        FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+        fileAppender.setContext(context);
+        fileAppender.setName("FILE");
+        fileAppender.setFile(target.toString());
+        fileAppender.setEncoder(encoder);
+        fileAppender.start();
+
+        Appender<ILoggingEvent> appender = fileAppender;
+        if (kind == AppenderKind.ASYNC) {
+            // Same settings as logback-spring.xml
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setName("ASYNC_FILE");
+            async.setQueueSize(8192);
+            async.setIncludeCallerData(false);
+            async.addAppender(fileAppender);
+            async.start();
+            appender = async;
+        }
+
+        Logger logger = (Logger) LoggerFactory.getLogger(FileUploadServiceImpl.class);
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+        return appender;
+    }
+}
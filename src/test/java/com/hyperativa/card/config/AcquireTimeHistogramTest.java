@@ -0,0 +1,61 @@
+package com.hyperativa.card.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AcquireTimeHistogramTest {
+
+    @Test
+    void percentileMicros_ShouldReturnBucketUpperBound() {
+        // Arrange
+        AcquireTimeHistogram histogram = new AcquireTimeHistogram();
+        for (int i = 0; i < 90; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(3));   // bucket [2, 4)
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(10));  // bucket [8192, 16384)
+        }
+
+        // Act
+        long[] snapshot = histogram.snapshot();
+
+        // Assert
+        assertEquals(4, AcquireTimeHistogram.percentileMicros(snapshot, 0.50));
+        assertEquals(4, AcquireTimeHistogram.percentileMicros(snapshot, 0.90));
+        assertEquals(16384, AcquireTimeHistogram.percentileMicros(snapshot, 0.95));
+    }
+
+    @Test
+    void record_ShouldClampToFirstAndLastBucket() {
+        // Arrange
+        AcquireTimeHistogram histogram = new AcquireTimeHistogram();
+
+        // Act
+        histogram.record(200);
+        histogram.record(TimeUnit.MINUTES.toNanos(5));
+
+        // Assert
+        long[] snapshot = histogram.snapshot();
+        assertEquals(1, snapshot[0]);
+        assertEquals(1, snapshot[AcquireTimeHistogram.BUCKETS - 1]);
+    }
+
+    @Test
+    void difference_ShouldIsolateInterval() {
+        // Arrange
+        AcquireTimeHistogram histogram = new AcquireTimeHistogram();
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(50));
+        long[] before = histogram.snapshot();
+        histogram.record(TimeUnit.MICROSECONDS.toNanos(1));
+
+        // Act
+        long[] delta = AcquireTimeHistogram.difference(histogram.snapshot(), before);
+
+        // Assert
+        assertEquals(2, AcquireTimeHistogram.percentileMicros(delta, 0.99));
+        assertEquals(0, AcquireTimeHistogram.percentileMicros(new long[AcquireTimeHistogram.BUCKETS], 0.5));
+    }
+}
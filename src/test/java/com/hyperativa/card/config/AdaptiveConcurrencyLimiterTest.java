@@ -0,0 +1,79 @@
+package com.hyperativa.card.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(50);
+
+    @Test
+    void tryAcquire_ShouldReject_WhenLimitIsReached() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 2, 1, 10, 1.5, 0.2);
+
+        // Act
+        int first = limiter.tryAcquire();
+        int second = limiter.tryAcquire();
+        int third = limiter.tryAcquire();
+
+        // Assert
+        assertEquals(1, first);
+        assertEquals(2, second);
+        assertEquals(-1, third);
+        assertEquals(2, limiter.getInflight());
+        assertEquals(1, limiter.getRejectedCount());
+    }
+
+    @Test
+    void release_ShouldGrowLimit_WhileLatencyStaysAtBaseline() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 10, 4, 100, 1.5, 0.2);
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            limiter.release(FAST, limiter.getLimit());
+        }
+
+        // Assert
+        assertTrue(limiter.getLimit() > 10, "limit was " + limiter.getLimit());
+        assertTrue(limiter.getLimit() <= 100);
+    }
+
+    @Test
+    void release_ShouldShrinkLimit_WhenLatencyRises() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 50, 4, 100, 1.5, 0.2);
+        for (int i = 0; i < 200; i++) {
+            limiter.release(FAST, 50);
+        }
+        int before = limiter.getLimit();
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            limiter.release(SLOW, limiter.getLimit());
+        }
+
+        // Assert
+        assertTrue(limiter.getLimit() < before, before + " -> " + limiter.getLimit());
+        assertTrue(limiter.getLimit() >= 4);
+    }
+
+    @Test
+    void release_ShouldIgnoreSamples_WhenFarBelowLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 20, 4, 100, 1.5, 0.2);
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            limiter.release(FAST, 1);
+        }
+
+        // Assert
+        assertEquals(20, limiter.getLimit());
+    }
+}
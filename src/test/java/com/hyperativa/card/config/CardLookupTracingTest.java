@@ -0,0 +1,62 @@
+package com.hyperativa.card.config;
+
+import com.hyperativa.card.dto.SpanDto;
+import com.hyperativa.card.dto.TraceDto;
+import com.hyperativa.card.model.Card;
+import com.hyperativa.card.repository.CardRepository;
+import com.hyperativa.card.service.CardService;
+import com.hyperativa.card.service.impl.CardLookupCoalescer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * /cards/exists queries run on the coalescer's flush threads; their connection
+ * and sql spans must still show up in the trace of the request they answered.
+ */
+@SpringBootTest
+class CardLookupTracingTest {
+
+    @Autowired
+    private CardService cardService;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired(required = false)
+    private CardLookupCoalescer lookupCoalescer;
+
+    @AfterEach
+    void tearDown() {
+        cardRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void findIdByCardNumber_ShouldRecordSqlSpan_WhenLookupIsCoalesced() {
+        // Arrange
+        assertNotNull(lookupCoalescer, "Coalescing is on by default");
+        Long id = cardRepository.save(new Card(4456897999999999L)).getId();
+        RequestTracing.ActiveTrace trace = RequestTracing.begin(null);
+
+        // Act
+        Long found;
+        try {
+            found = cardService.findIdByCardNumber(4456897999999999L);
+        } finally {
+            RequestTracing.end();
+        }
+        TraceDto dto = trace.toDto("GET", "/api/cards/exists", 200, System.nanoTime() - trace.startNanos());
+
+        // Assert
+        assertEquals(id, found);
+        List<String> names = dto.getSpans().stream().map(SpanDto::getName).toList();
+        assertTrue(names.contains("sql"), "Spans: " + names);
+        assertTrue(names.contains("connection"), "Spans: " + names);
+        dto.getSpans().forEach(span -> assertTrue(span.getOffsetMicros() >= 0, "Span before request: " + span.getName()));
+    }
+}
@@ -0,0 +1,60 @@
+package com.hyperativa.card.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitFilterTest {
+
+    private AdaptiveConcurrencyLimiter limiter;
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new AdaptiveConcurrencyLimiter("cards", 1, 1, 1, 1.5, 0.2);
+        filter = new ConcurrencyLimitFilter(limiter, Set.of("/cards/upload", "/cards/export"));
+    }
+
+    @Test
+    void doFilter_ShouldShed_WhenLimitIsReached() throws Exception {
+        // Arrange
+        limiter.tryAcquire();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request("/cards/exists"), response, new MockFilterChain());
+
+        // Assert
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+    }
+
+    @Test
+    void doFilter_ShouldBypassLimiter_ForExcludedLongRunningPaths() throws Exception {
+        // Arrange - a full limiter would shed any request it sees
+        limiter.tryAcquire();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(request("/cards/export"), response, chain);
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertNotNull(chain.getRequest(), "Excluded request must reach the rest of the chain");
+        assertEquals(1, limiter.getInflight());
+        assertEquals(0, limiter.getRejectedCount());
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api" + path);
+        request.setContextPath("/api");
+        return request;
+    }
+}
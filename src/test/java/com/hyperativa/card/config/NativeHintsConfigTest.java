@@ -0,0 +1,29 @@
+package com.hyperativa.card.config;
+
+import com.hyperativa.card.security.UserCacheInvalidationListener;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NativeHintsConfigTest {
+
+    @Test
+    void registerHints_ShouldCoverJjwtEntityListenerAndMigrations() {
+        // Arrange
+        RuntimeHints hints = new RuntimeHints();
+
+        // Act
+        new NativeHintsConfig.CardRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // Assert
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of("io.jsonwebtoken.impl.DefaultJwtParserBuilder")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(UserCacheInvalidationListener.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("db/migration/V1__baseline_schema.sql").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource()
+                .forResource("META-INF/services/io.jsonwebtoken.io.Serializer").test(hints));
+    }
+}
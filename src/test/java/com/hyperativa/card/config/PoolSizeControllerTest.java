@@ -0,0 +1,33 @@
+package com.hyperativa.card.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PoolSizeControllerTest {
+
+    private static final long TARGET = 5_000; // µs
+
+    @Test
+    void nextSize_ShouldGrow_WhenWaitExceedsTarget() {
+        // Act & Assert
+        assertEquals(12, PoolSizeController.nextSize(10, 4, 40, 8_192, TARGET, 0, 0));
+        assertEquals(40, PoolSizeController.nextSize(38, 4, 40, 8_192, TARGET, 0, 0));
+    }
+
+    @Test
+    void nextSize_ShouldGrow_WhenAcquireTimedOut() {
+        // Act & Assert
+        assertEquals(3, PoolSizeController.nextSize(2, 2, 8, 0, TARGET, 1, 0));
+    }
+
+    @Test
+    void nextSize_ShouldShrink_OnlyAfterSeveralQuietIntervals() {
+        // Act & Assert
+        assertEquals(10, PoolSizeController.nextSize(10, 4, 40, 16, TARGET, 0, 1));
+        assertEquals(9, PoolSizeController.nextSize(10, 4, 40, 16, TARGET, 0,
+                PoolSizeController.QUIET_INTERVALS_BEFORE_SHRINK));
+        assertEquals(4, PoolSizeController.nextSize(4, 4, 40, 16, TARGET, 0,
+                PoolSizeController.QUIET_INTERVALS_BEFORE_SHRINK));
+    }
+}
@@ -0,0 +1,91 @@
+package com.hyperativa.card.config;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatementCounterTest {
+
+    @Test
+    void kindOf_ShouldClassifyByLeadingKeyword() {
+        // Act & Assert
+        assertEquals(StatementCounter.Kind.QUERY, StatementCounter.Kind.of("  select id from cards"));
+        assertEquals(StatementCounter.Kind.QUERY, StatementCounter.Kind.of("(SELECT 1) UNION (SELECT 2)"));
+        assertEquals(StatementCounter.Kind.INSERT, StatementCounter.Kind.of("INSERT INTO cards VALUES (?, ?)"));
+        assertEquals(StatementCounter.Kind.INSERT, StatementCounter.Kind.of("merge into cards key (card_number)"));
+        assertEquals(StatementCounter.Kind.UPDATE, StatementCounter.Kind.of("delete from cards"));
+        assertEquals(StatementCounter.Kind.OTHER, StatementCounter.Kind.of("SET autocommit = 0"));
+        assertEquals(StatementCounter.Kind.OTHER, StatementCounter.Kind.of(null));
+    }
+
+    @Test
+    void statement_ShouldCountInEveryEnclosingScope() {
+        // Arrange
+        StatementCounter.Scope outer = StatementCounter.open("request");
+        StatementCounter.Scope inner = StatementCounter.open("upload");
+
+        // Act
+        StatementCounter.statement(StatementCounter.Kind.QUERY);
+        StatementCounter.commit();
+        inner.close();
+        StatementCounter.statement(StatementCounter.Kind.INSERT);
+        outer.close();
+        StatementCounter.statement(StatementCounter.Kind.INSERT);
+
+        // Assert
+        assertEquals(1, inner.statements());
+        assertEquals(1, inner.commits());
+        assertEquals(1, outer.queries());
+        assertEquals(1, outer.inserts());
+        assertEquals(1, outer.commits());
+        assertFalse(StatementCounter.isActive(), "Closing the outer scope leaves no scope open");
+    }
+
+    @Test
+    void add_ShouldCountScopeFromAnotherThread_InEveryEnclosingScope() throws Exception {
+        // Arrange
+        StatementCounter.Scope[] shared = new StatementCounter.Scope[1];
+        Thread worker = new Thread(() -> {
+            try (StatementCounter.Scope scope = StatementCounter.open("card-lookup")) {
+                StatementCounter.statement(StatementCounter.Kind.QUERY);
+                StatementCounter.commit();
+                shared[0] = scope;
+            }
+        });
+        worker.start();
+        worker.join();
+        StatementCounter.Scope outer = StatementCounter.open("request");
+        StatementCounter.Scope inner = StatementCounter.open("lookup");
+
+        // Act
+        StatementCounter.add(shared[0]);
+        inner.close();
+        outer.close();
+
+        // Assert
+        assertEquals(1, inner.queries());
+        assertEquals(1, outer.queries());
+        assertEquals(1, outer.commits());
+        assertEquals(1, shared[0].queries(), "The shared scope itself is left unchanged");
+    }
+
+    @Test
+    void publish_ShouldRecordCountsPerKind() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        try (StatementCounter.Scope scope = StatementCounter.open("upload")) {
+            StatementCounter.statement(StatementCounter.Kind.QUERY);
+            StatementCounter.statement(StatementCounter.Kind.QUERY);
+
+            // Act
+            scope.publish(registry, Tags.empty());
+        }
+
+        // Assert
+        assertEquals(2, registry.get("db.scope.statements").tags("scope", "upload", "kind", "query")
+                .summary().totalAmount());
+        assertEquals(0, registry.get("db.scope.commits").tag("scope", "upload").summary().totalAmount());
+    }
+}
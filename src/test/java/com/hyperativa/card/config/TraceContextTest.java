@@ -0,0 +1,44 @@
+package com.hyperativa.card.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraceContextTest {
+
+    @Test
+    void parse_ShouldReadValidTraceparent() {
+        // Act
+        TraceContext context = TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+
+        // Assert
+        assertNotNull(context);
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", context.traceId());
+        assertEquals("00f067aa0ba902b7", context.parentSpanId());
+        assertTrue(context.sampled());
+        assertEquals("00-4bf92f3577b34da6a3ce929d0e0e4736-b7ad6b7169203331-01",
+                context.traceparent("b7ad6b7169203331"));
+    }
+
+    @Test
+    void parse_ShouldRejectMalformedHeaders() {
+        // Act & Assert
+        assertNull(TraceContext.parse(null));
+        assertNull(TraceContext.parse("garbage"));
+        assertNull(TraceContext.parse("01-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01"));
+        assertNull(TraceContext.parse("00-00000000000000000000000000000000-00f067aa0ba902b7-01"));
+        assertNull(TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-0000000000000000-01"));
+        assertNull(TraceContext.parse("00-4BF92F3577B34DA6A3CE929D0E0E4736-00f067aa0ba902b7-01"));
+    }
+
+    @Test
+    void newRoot_ShouldGenerateValidIds() {
+        // Act
+        TraceContext root = TraceContext.newRoot();
+        String header = root.traceparent(TraceContext.newSpanId());
+
+        // Assert
+        assertNull(root.parentSpanId());
+        assertNotNull(TraceContext.parse(header));
+    }
+}
@@ -0,0 +1,104 @@
+package com.hyperativa.card.config;
+
+import com.hyperativa.card.dto.TraceDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraceRecorderTest {
+
+    @Test
+    void recent_ShouldReturnNewestFirst_AndDropOverwrittenTraces() {
+        // Arrange
+        TraceRecorder recorder = new TraceRecorder(4, Duration.ofMillis(100));
+
+        // Act
+        for (int i = 1; i <= 6; i++) {
+            recorder.record(trace("t" + i, 1000));
+        }
+        List<TraceDto> recent = recorder.recent(10, 0);
+
+        // Assert
+        assertEquals(4, recorder.getCapacity());
+        assertEquals(6, recorder.getRecordedCount());
+        assertEquals(List.of("t6", "t5", "t4", "t3"), recent.stream().map(TraceDto::getTraceId).toList());
+    }
+
+    @Test
+    void recent_ShouldApplyLimitAndMinimumDuration() {
+        // Arrange
+        TraceRecorder recorder = new TraceRecorder(8, Duration.ofMillis(100));
+        recorder.record(trace("fast", 150_000));
+        recorder.record(trace("slow", 900_000));
+        recorder.record(trace("slower", 1_500_000));
+
+        // Act
+        List<TraceDto> recent = recorder.recent(1, 500_000);
+
+        // Assert
+        assertEquals(List.of("slower"), recent.stream().map(TraceDto::getTraceId).toList());
+    }
+
+    @Test
+    void isSlow_ShouldCompareAgainstThreshold() {
+        // Arrange
+        TraceRecorder recorder = new TraceRecorder(8, Duration.ofMillis(200));
+
+        // Act & Assert
+        assertFalse(recorder.isSlow(Duration.ofMillis(199).toNanos()));
+        assertTrue(recorder.isSlow(Duration.ofMillis(200).toNanos()));
+    }
+
+    @Test
+    void activeTrace_ShouldReportSpansInStartOrder() {
+        // Arrange
+        RequestTracing.ActiveTrace trace = RequestTracing.begin(null);
+        try {
+            long start = trace.startNanos();
+
+            // Act
+            trace.add("sql", start + 3_000_000, start + 5_000_000);
+            trace.add("transaction.begin", start + 1_000_000, start + 2_000_000);
+            TraceDto dto = trace.toDto("GET", "/api/cards/exists", 200, 6_000_000);
+
+            // Assert
+            assertEquals(List.of("transaction.begin", "sql"), dto.getSpans().stream().map(s -> s.getName()).toList());
+            assertEquals(3000, dto.getSpans().get(1).getOffsetMicros());
+            assertEquals(2000, dto.getSpans().get(1).getDurationMicros());
+            assertEquals(6000, dto.getDurationMicros());
+            assertEquals(32, dto.getTraceId().length());
+        } finally {
+            RequestTracing.end();
+        }
+    }
+
+    @Test
+    void activeTrace_ShouldCapSpans_AndCountDropped() {
+        // Arrange
+        RequestTracing.ActiveTrace trace = RequestTracing.begin(null);
+        try {
+            long start = trace.startNanos();
+
+            // Act
+            for (int i = 0; i < RequestTracing.MAX_SPANS + 10; i++) {
+                trace.add("sql", start + i, start + i + 1);
+            }
+            TraceDto dto = trace.toDto("POST", "/api/cards/upload", 200, 1_000_000);
+
+            // Assert
+            assertEquals(RequestTracing.MAX_SPANS, dto.getSpans().size());
+            assertEquals(10, dto.getDroppedSpans());
+        } finally {
+            RequestTracing.end();
+        }
+    }
+
+    private static TraceDto trace(String id, long durationMicros) {
+        return new TraceDto(id, "00f067aa0ba902b7", null, "GET", "/api/cards/exists", 200,
+                Instant.now(), durationMicros, List.of(), 0);
+    }
+}
@@ -0,0 +1,76 @@
+package com.hyperativa.card.jfr;
+
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JfrSummaryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void summarize_ShouldAggregateCardEventsOfARecording() throws Exception {
+        // Arrange
+        Path file = tempDir.resolve("card.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(BatchWriteEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(CardLookupEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+
+            for (int i = 0; i < 3; i++) {
+                BatchWriteEvent batch = new BatchWriteEvent();
+                batch.begin();
+                batch.size = 1000;
+                batch.saved = 900;
+                batch.duplicates = 100;
+                batch.commit();
+            }
+            for (int i = 0; i < 4; i++) {
+                CardLookupEvent lookup = new CardLookupEvent();
+                lookup.begin();
+                lookup.found = i % 2 == 0;
+                lookup.coalesced = true;
+                lookup.commit();
+            }
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // Act
+        List<JfrSummary.EventSummary> summaries = JfrSummary.summarize(file);
+
+        // Assert
+        assertEquals(List.of("com.hyperativa.card.BatchWrite", "com.hyperativa.card.CardLookup"),
+                summaries.stream().map(JfrSummary.EventSummary::getName).toList());
+
+        JfrSummary.EventSummary batches = summaries.get(0);
+        assertEquals(3, batches.getCount());
+        assertEquals(3000L, batches.getSums().get("size"));
+        assertEquals(2700L, batches.getSums().get("saved"));
+        assertEquals(300L, batches.getSums().get("duplicates"));
+
+        JfrSummary.EventSummary lookups = summaries.get(1);
+        assertEquals(4, lookups.getCount());
+        assertEquals(2L, lookups.getTrueCounts().get("found"));
+        assertEquals(4L, lookups.getTrueCounts().get("coalesced"));
+        assertTrue(lookups.percentileNanos(100) >= lookups.percentileNanos(50));
+    }
+
+    @Test
+    void events_ShouldNotCommit_WhenNoRecordingIsRunning() {
+        // Arrange
+        JwtVerificationEvent event = new JwtVerificationEvent();
+
+        // Act & Assert
+        assertFalse(event.isEnabled());
+        assertFalse(event.shouldCommit());
+    }
+}
@@ -0,0 +1,269 @@
+package com.hyperativa.card.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hyperativa.card.CardApplication;
+import com.hyperativa.card.benchmark.LoteFileGenerator;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Offline end-to-end load test: starts the application on the test H2 database
+ * and drives /auth/login, /cards/exists, POST /cards and /cards/upload over HTTP,
+ * one endpoint at a time, with a fixed number of closed-loop clients. Reports
+ * throughput, latency percentiles (HdrHistogram) and response statuses per endpoint.
+ *
+ * mvn -Ploadtest test -DskipTests -Dloadtest.args="concurrency=32 duration=60s"
+ *
+ * Driver settings (key=value): concurrency, warmup, duration, endpoints
+ * (login,exists,cards,upload), upload-lines, seed-cards, duplicate-ratio,
+ * malformed-ratio, min-digits, max-digits. Arguments starting with -- go to the
+ * application, e.g. --app.ratelimit.enabled=true to measure with rate limits on.
+ */
+public final class LoadDriver {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    enum Endpoint { LOGIN, EXISTS, CARDS, UPLOAD }
+
+    record Settings(int concurrency, Duration warmup, Duration duration, List<Endpoint> endpoints,
+                    LoteFileGenerator.Spec uploadSpec, int seedCards, Map<String, String> appProperties) {
+
+        static Settings parse(String[] args) {
+            Map<String, String> driver = new LinkedHashMap<>();
+            Map<String, String> app = new LinkedHashMap<>();
+            app.put("server.port", "0");
+            // Rate limits would cap every endpoint at a few hundred requests per second
+            app.put("app.ratelimit.enabled", "false");
+            app.put("logging.level.root", "WARN");
+            app.put("logging.level.com.hyperativa.card", "ERROR");
+            app.put("spring.main.banner-mode", "off");
+            for (String arg : args) {
+                String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+                (arg.startsWith("--") ? app : driver).put(pair[0], pair.length > 1 ? pair[1] : "true");
+            }
+
+            List<Endpoint> endpoints = new ArrayList<>();
+            for (String name : driver.getOrDefault("endpoints", "login,exists,cards,upload").split(",")) {
+                endpoints.add(Endpoint.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+            }
+            LoteFileGenerator.Spec uploadSpec = new LoteFileGenerator.Spec(
+                    Long.parseLong(driver.getOrDefault("upload-lines", "1000")),
+                    Double.parseDouble(driver.getOrDefault("duplicate-ratio", "0.1")),
+                    Double.parseDouble(driver.getOrDefault("malformed-ratio", "0.01")),
+                    Integer.parseInt(driver.getOrDefault("min-digits", "13")),
+                    Integer.parseInt(driver.getOrDefault("max-digits", "19")),
+                    42);
+            return new Settings(
+                    Integer.parseInt(driver.getOrDefault("concurrency", "16")),
+                    DurationStyle.detectAndParse(driver.getOrDefault("warmup", "10s")),
+                    DurationStyle.detectAndParse(driver.getOrDefault("duration", "30s")),
+                    endpoints,
+                    uploadSpec,
+                    Integer.parseInt(driver.getOrDefault("seed-cards", "10000")),
+                    app);
+        }
+    }
+
+    /**
+     * Latencies and statuses of one endpoint run; one histogram per client, merged at the end.
+     */
+    static final class Result {
+        final Histogram latencyMicros = new Histogram(TimeUnit.MINUTES.toMicros(1), 3);
+        final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        final LongAdder failures = new LongAdder();
+        long elapsedNanos;
+
+        void record(int status) {
+            statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+        }
+    }
+
+    private final Settings settings;
+    private final HttpClient client;
+    private final String baseUrl;
+    private final AtomicLong nextCardNumber = new AtomicLong(5_000_000_000_000_000L);
+    private final AtomicLong nextUploadSeed = new AtomicLong(1_000);
+    private String token;
+
+    LoadDriver(Settings settings, String baseUrl) {
+        this.settings = settings;
+        this.baseUrl = baseUrl;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Settings settings = Settings.parse(args);
+        String[] appArgs = settings.appProperties().entrySet().stream()
+                .map(e -> "--" + e.getKey() + "=" + e.getValue())
+                .toArray(String[]::new);
+
+        try (ConfigurableApplicationContext context = SpringApplication.run(CardApplication.class, appArgs)) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String contextPath = context.getEnvironment().getProperty("server.servlet.context-path", "");
+            LoadDriver driver = new LoadDriver(settings, "http://localhost:" + port + contextPath);
+
+            driver.prepare();
+            System.out.printf("%nLoad test: %d clients, %s warm-up, %s per endpoint%n",
+                    settings.concurrency(), settings.warmup(), settings.duration());
+            for (Endpoint endpoint : settings.endpoints()) {
+                run(driver, endpoint, settings.warmup());
+                report(endpoint, run(driver, endpoint, settings.duration()));
+            }
+        }
+    }
+
+    /**
+     * Logs in once for the card endpoints and uploads the cards /cards/exists looks up.
+     */
+    void prepare() throws IOException, InterruptedException {
+        HttpResponse<String> login = send(loginRequest());
+        if (login.statusCode() != 200) {
+            throw new IllegalStateException("Login failed with status " + login.statusCode());
+        }
+        token = JSON.readTree(login.body()).path("token").asText();
+
+        LoteFileGenerator.Spec seed = new LoteFileGenerator.Spec(settings.seedCards(), 0, 0,
+                settings.uploadSpec().minDigits(), settings.uploadSpec().maxDigits(), 7);
+        HttpResponse<String> upload = send(uploadRequest(seed));
+        JsonNode result = JSON.readTree(upload.body());
+        System.out.printf("Seeded %s cards (status %d)%n", result.path("processedCount").asText("?"),
+                upload.statusCode());
+    }
+
+    private static Result run(LoadDriver driver, Endpoint endpoint, Duration duration) throws Exception {
+        int clients = driver.settings.concurrency();
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        List<Future<Histogram>> futures = new ArrayList<>();
+        Result result = new Result();
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        for (int i = 0; i < clients; i++) {
+            futures.add(pool.submit(() -> driver.client(endpoint, deadline, result)));
+        }
+        for (Future<Histogram> future : futures) {
+            result.latencyMicros.add(future.get());
+        }
+        result.elapsedNanos = System.nanoTime() - start;
+        pool.shutdown();
+        return result;
+    }
+
+    private Histogram client(Endpoint endpoint, long deadline, Result result) {
+        Histogram histogram = new Histogram(TimeUnit.MINUTES.toMicros(1), 3);
+        while (System.nanoTime() < deadline) {
+            HttpRequest request = request(endpoint);
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                histogram.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start),
+                        histogram.getHighestTrackableValue()));
+                result.record(response.statusCode());
+            } catch (IOException ex) {
+                result.failures.increment();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return histogram;
+    }
+
+    private HttpRequest request(Endpoint endpoint) {
+        return switch (endpoint) {
+            case LOGIN -> loginRequest();
+            case EXISTS -> {
+                long n = ThreadLocalRandom.current().nextLong(settings.seedCards());
+                long cardNumber = settings.uploadSpec().withSeed(7).cardNumber(n);
+                yield authorized(baseUrl + "/cards/exists?cardNumber=" + cardNumber).GET().build();
+            }
+            case CARDS -> authorized(baseUrl + "/cards")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"cardNumber\":" + nextCardNumber.getAndIncrement() + "}"))
+                    .build();
+            case UPLOAD -> uploadRequest(settings.uploadSpec().withSeed(nextUploadSeed.getAndIncrement()));
+        };
+    }
+
+    private HttpRequest loginRequest() {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"admin\",\"password\":\"admin123\"}"))
+                .build();
+    }
+
+    private HttpRequest uploadRequest(LoteFileGenerator.Spec spec) {
+        String boundary = "lote-" + spec.seed();
+        byte[] head = ("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"lote.txt\"\r\n"
+                + "Content-Type: text/plain\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+        byte[] tail = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+        return authorized(baseUrl + "/cards/upload")
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofInputStream(() -> new SequenceInputStream(
+                        Collections.enumeration(List.<InputStream>of(
+                                new ByteArrayInputStream(head),
+                                LoteFileGenerator.stream(spec),
+                                new ByteArrayInputStream(tail))))))
+                .build();
+    }
+
+    private HttpRequest.Builder authorized(String url) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofMinutes(1))
+                .header("Authorization", "Bearer " + token);
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static void report(Endpoint endpoint, Result result) {
+        Histogram h = result.latencyMicros;
+        double seconds = result.elapsedNanos / 1e9;
+        System.out.printf(Locale.ROOT,
+                "%-7s %9d req %10.1f req/s  p50 %8.2f ms  p90 %8.2f ms  p99 %8.2f ms  p99.9 %8.2f ms  max %8.2f ms"
+                        + "  statuses %s  io-failures %d%n",
+                endpoint, h.getTotalCount(), h.getTotalCount() / seconds,
+                millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(90)),
+                millis(h.getValueAtPercentile(99)), millis(h.getValueAtPercentile(99.9)),
+                millis(h.getMaxValue()), new TreeMap<>(result.statuses), result.failures.sum());
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,92 @@
+package com.hyperativa.card.repository;
+
+import com.hyperativa.card.dto.CardSortKey;
+import com.hyperativa.card.model.Card;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(CardJdbcRepository.class)
+class CardJdbcRepositoryTest {
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private CardJdbcRepository jdbcRepository;
+
+    @BeforeEach
+    void setUp() {
+        cardRepository.saveAllAndFlush(List.of(
+                new Card(4456897919999999L),
+                new Card(4456897929999999L),
+                new Card(5555666677778888L),
+                new Card(4456897939999L),       // 13 digits
+                new Card(4456897949999999999L)  // 19 digits
+        ));
+    }
+
+    @Test
+    void findPage_ShouldWalkAllRows_WithoutOverlap() {
+        // Act
+        List<Long> seen = new ArrayList<>();
+        Long after = null;
+        List<Card> page;
+        do {
+            page = jdbcRepository.findPage(CardSortKey.ID, after, null, null, null, 2);
+            page.forEach(card -> seen.add(card.getId()));
+            after = page.isEmpty() ? after : page.get(page.size() - 1).getId();
+        } while (page.size() == 2);
+
+        // Assert
+        assertEquals(5, seen.size());
+        assertEquals(seen.stream().sorted().toList(), seen, "Pages must come back in id order");
+    }
+
+    @Test
+    void findPage_ShouldMatchBinPrefix_AcrossCardLengths() {
+        // Act
+        List<Card> page = jdbcRepository.findPage(CardSortKey.CARD_NUMBER, null, "445689", null, null, 10);
+
+        // Assert
+        assertEquals(4, page.size());
+        page.forEach(card -> assertTrue(String.valueOf(card.getCardNumber()).startsWith("445689")));
+        assertEquals(4456897939999L, page.get(0).getCardNumber(), "Sorted by card number");
+    }
+
+    @Test
+    void findPage_ShouldSeekByCardNumber() {
+        // Act
+        List<Card> page = jdbcRepository.findPage(CardSortKey.CARD_NUMBER, 4456897929999999L, null, null, null, 10);
+
+        // Assert
+        assertEquals(List.of(5555666677778888L, 4456897949999999999L),
+                page.stream().map(Card::getCardNumber).toList());
+    }
+
+    @Test
+    void findPage_ShouldFilterByCreatedAtRange() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+
+        // Act
+        List<Card> recent = jdbcRepository.findPage(CardSortKey.ID, null, null, now.minusHours(1), null, 10);
+        List<Card> future = jdbcRepository.findPage(CardSortKey.ID, null, null, now.plusHours(1), null, 10);
+        List<Card> past = jdbcRepository.findPage(CardSortKey.ID, null, null, null, now.minusHours(1), 10);
+
+        // Assert
+        assertEquals(5, recent.size());
+        assertTrue(future.isEmpty());
+        assertTrue(past.isEmpty());
+        assertNotNull(recent.get(0).getCreatedAt());
+    }
+}
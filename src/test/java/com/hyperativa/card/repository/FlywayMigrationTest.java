@@ -0,0 +1,81 @@
+package com.hyperativa.card.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs V1..Vn against a real MySQL and lets Hibernate validate the entities
+ * against the result, the same way production starts. The other tests use a
+ * Hibernate-generated H2 schema, so this is the only place the migrations run.
+ * Skipped where Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect",
+        "spring.datasource.driverClassName=com.mysql.cj.jdbc.Driver"
+})
+class FlywayMigrationTest {
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+    }
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void migrations_ShouldApplyCleanly_AndMatchEntities() {
+        // Arrange / Act: the context only starts if every migration applied and validate passed
+
+        // Assert
+        assertEquals(0, flyway.info().pending().length);
+        assertEquals(flyway.info().all().length, flyway.info().applied().length);
+        assertEquals(1, indexCount("cards", "idx_created_at"));
+    }
+
+    @Test
+    void createdAtIndexMigration_ShouldSkip_WhenIndexAlreadyExists() {
+        // Arrange: the index exists but V2 is not in the history, as on databases built from the old schema.sql
+        jdbcTemplate.update("DELETE FROM flyway_schema_history WHERE version = '2'");
+
+        // Act
+        Flyway.configure()
+                .configuration(flyway.getConfiguration())
+                .outOfOrder(true)
+                .load()
+                .migrate();
+
+        // Assert
+        assertEquals(1, indexCount("cards", "idx_created_at"));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM flyway_schema_history WHERE version = '2' AND success = 1", Integer.class));
+    }
+
+    private int indexCount(String table, String index) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(DISTINCT index_name) FROM information_schema.statistics "
+                        + "WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?",
+                Integer.class, table, index);
+    }
+}
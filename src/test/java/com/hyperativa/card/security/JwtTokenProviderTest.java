@@ -0,0 +1,85 @@
+package com.hyperativa.card.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET =
+            "hyperativaSecretKeyForJWTTokenGenerationMustBeAtLeast256BitsLongForHS256Algorithm";
+
+    private JwtTokenProvider tokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = createProvider(SECRET, 60_000);
+    }
+
+    @Test
+    void parseToken_ShouldReturnPrincipal_WhenTokenIsValid() {
+        // Arrange
+        String token = tokenProvider.generateToken("admin", "ADMIN");
+
+        // Act
+        Optional<JwtPrincipal> principal = tokenProvider.parseToken(token);
+
+        // Assert
+        assertTrue(principal.isPresent());
+        assertEquals("admin", principal.get().username());
+        assertEquals("ADMIN", principal.get().role());
+        assertTrue(principal.get().expiresAt().isAfter(Instant.now()));
+    }
+
+    @Test
+    void parseToken_ShouldReturnEmpty_WhenSignedWithAnotherKey() {
+        // Arrange
+        JwtTokenProvider otherProvider =
+                createProvider("anotherSecretKeyThatIsAlsoAtLeast256BitsLongForTheHS256Algorithm!!", 60_000);
+        String foreignToken = otherProvider.generateToken("admin", "ADMIN");
+
+        // Act & Assert
+        assertTrue(tokenProvider.parseToken(foreignToken).isEmpty());
+        assertFalse(tokenProvider.validateToken(foreignToken));
+    }
+
+    @Test
+    void parseToken_ShouldReturnEmpty_WhenTokenIsExpired() {
+        // Arrange
+        JwtTokenProvider expiredProvider = createProvider(SECRET, -1_000);
+        String expiredToken = expiredProvider.generateToken("admin", "ADMIN");
+
+        // Act & Assert
+        assertTrue(tokenProvider.parseToken(expiredToken).isEmpty());
+    }
+
+    @Test
+    void parseToken_ShouldReturnEmpty_WhenTokenIsMalformed() {
+        assertTrue(tokenProvider.parseToken("not.a.jwt").isEmpty());
+        assertTrue(tokenProvider.parseToken("").isEmpty());
+    }
+
+    @Test
+    void legacyAccessors_ShouldMatchParsedPrincipal() {
+        // Arrange
+        String token = tokenProvider.generateToken("user", "USER");
+
+        // Act & Assert
+        assertTrue(tokenProvider.validateToken(token));
+        assertEquals("user", tokenProvider.getUsernameFromToken(token));
+        assertEquals("USER", tokenProvider.getRoleFromToken(token));
+    }
+
+    static JwtTokenProvider createProvider(String secret, long expiration) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", secret);
+        ReflectionTestUtils.setField(provider, "jwtExpiration", expiration);
+        provider.init();
+        return provider;
+    }
+}
@@ -0,0 +1,89 @@
+package com.hyperativa.card.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+    private RateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new RateLimiter(true, "USER=10:5,ADMIN=100:50", "USER=0:0", "", now::get);
+    }
+
+    @Test
+    void tryAcquire_ShouldAllowBurst_ThenReject() {
+        // Act
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire(RateLimiter.Endpoint.CARDS_EXISTS, false, "alice"));
+        }
+        long wait = limiter.tryAcquire(RateLimiter.Endpoint.CARDS_EXISTS, false, "alice");
+
+        // Assert: one token every 100 ms at 10 req/s
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), wait);
+    }
+
+    @Test
+    void tryAcquire_ShouldRefillOverTime() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire(RateLimiter.Endpoint.CARDS_EXISTS, false, "alice");
+        }
+
+        // Act
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(200));
+
+        // Assert
+        assertEquals(0, limiter.tryAcquire(RateLimiter.Endpoint.CARDS_EXISTS, false, "alice"));
+        assertEquals(0, limiter.tryAcquire(RateLimiter.Endpoint.CARDS_EXISTS, false, "alice"));
+        assertTrue(limiter.tryAcquire(RateLimiter.Endpoint.CARDS_EXISTS, false, "alice") > 0);
+    }
+
+    @Test
+    void tryAcquire_ShouldKeepSeparateBucketsPerPrincipalAndRole() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire(RateLimiter.Endpoint.CARDS_EXISTS, false, "alice");
+        }
+
+        // Act & Assert
+        assertTrue(limiter.tryAcquire(RateLimiter.Endpoint.CARDS_EXISTS, false, "alice") > 0);
+        assertEquals(0, limiter.tryAcquire(RateLimiter.Endpoint.CARDS_EXISTS, false, "bob"));
+        for (int i = 0; i < 50; i++) {
+            assertEquals(0, limiter.tryAcquire(RateLimiter.Endpoint.CARDS_EXISTS, true, "admin"));
+        }
+    }
+
+    @Test
+    void tryAcquire_ShouldNotLimit_WhenEndpointHasNoLimit() {
+        // Act & Assert
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(0, limiter.tryAcquire(RateLimiter.Endpoint.CARDS_UPLOAD, false, "alice"));
+            assertEquals(0, limiter.tryAcquire(RateLimiter.Endpoint.CARDS, false, "alice"));
+        }
+    }
+
+    @Test
+    void endpointOf_ShouldGroupCardPaths() {
+        // Act & Assert
+        assertEquals(RateLimiter.Endpoint.CARDS_EXISTS, RateLimiter.Endpoint.of("/cards/exists"));
+        assertEquals(RateLimiter.Endpoint.CARDS_UPLOAD, RateLimiter.Endpoint.of("/cards/upload"));
+        assertEquals(RateLimiter.Endpoint.CARDS, RateLimiter.Endpoint.of("/cards/export"));
+        assertEquals(RateLimiter.Endpoint.CARDS, RateLimiter.Endpoint.of("/cards"));
+        assertNull(RateLimiter.Endpoint.of("/auth/login"));
+    }
+
+    @Test
+    void constructor_ShouldRejectMalformedLimits() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> new RateLimiter(true, "USER=10", "", "", now::get));
+    }
+}
@@ -0,0 +1,174 @@
+package com.hyperativa.card.security;
+
+import com.hyperativa.card.model.User;
+import com.hyperativa.card.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserCredentialsCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private UserCredentialsCache cache;
+    private User alice;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserCredentialsCache(userRepository, true, 2, Duration.ofMinutes(1), now::get);
+        alice = user(1L, "alice");
+    }
+
+    private static User user(Long id, String username) {
+        User user = new User(username, "$2a$10$hash", username + "@example.com", "USER");
+        user.setId(id);
+        return user;
+    }
+
+    @Test
+    void findByUsername_ShouldHitRepositoryOnce_ForRepeatedLookups() {
+        // Arrange
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(alice));
+
+        // Act
+        cache.findByUsername("alice");
+        Optional<UserCredentials> second = cache.findByUsername("alice");
+
+        // Assert
+        assertEquals("alice", second.orElseThrow().username());
+        verify(userRepository, times(1)).findByUsername("alice");
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0.5, cache.getHitRatio());
+    }
+
+    @Test
+    void findByUsername_ShouldNotCacheUnknownUsers() {
+        // Arrange
+        when(userRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+
+        // Act
+        cache.findByUsername("ghost");
+        cache.findByUsername("ghost");
+
+        // Assert
+        verify(userRepository, times(2)).findByUsername("ghost");
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void findByUsername_ShouldReload_AfterTtl() {
+        // Arrange
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(alice));
+        cache.findByUsername("alice");
+
+        // Act
+        now.addAndGet(Duration.ofMinutes(2).toMillis());
+        cache.findByUsername("alice");
+
+        // Assert
+        verify(userRepository, times(2)).findByUsername("alice");
+    }
+
+    @Test
+    void invalidate_ShouldDropEntry_SoDisabledUserIsSeenImmediately() {
+        // Arrange
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(alice));
+        assertTrue(cache.findByUsername("alice").orElseThrow().enabled());
+        User disabled = user(1L, "alice");
+        disabled.setEnabled(false);
+
+        // Act
+        cache.invalidate(disabled);
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(disabled));
+
+        // Assert
+        assertFalse(cache.findByUsername("alice").orElseThrow().enabled());
+        assertEquals(1, cache.getInvalidationCount());
+    }
+
+    @Test
+    void invalidate_ShouldDropEntryUnderOldUsername_WhenUserIsRenamed() {
+        // Arrange
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(alice));
+        cache.findByUsername("alice");
+
+        // Act
+        cache.invalidate(user(1L, "alice2"));
+
+        // Assert
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void findByUsername_ShouldEvictLeastRecentlyUsed_WhenFull() {
+        // Arrange
+        when(userRepository.findByUsername(anyString()))
+                .thenAnswer(invocation -> Optional.of(user(null, invocation.getArgument(0))));
+
+        // Act
+        cache.findByUsername("a");
+        cache.findByUsername("b");
+        cache.findByUsername("a");
+        cache.findByUsername("c");
+        cache.findByUsername("a");
+        cache.findByUsername("b");
+
+        // Assert: "b" was evicted when "c" arrived, "a" stayed
+        assertEquals(2, cache.size());
+        verify(userRepository, times(1)).findByUsername("a");
+        verify(userRepository, times(2)).findByUsername("b");
+    }
+
+    @Test
+    void findByUsername_ShouldNotCacheLoad_WhenInvalidatedWhileLoading() {
+        // Arrange - the user is updated while the first lookup is reading the old row
+        User updated = user(1L, "alice");
+        updated.setPassword("$2a$10$newhash");
+        when(userRepository.findByUsername("alice"))
+                .thenAnswer(invocation -> {
+                    cache.invalidate(updated);
+                    return Optional.of(alice);
+                })
+                .thenReturn(Optional.of(updated));
+
+        // Act
+        cache.findByUsername("alice");
+        Optional<UserCredentials> afterUpdate = cache.findByUsername("alice");
+
+        // Assert
+        assertEquals("$2a$10$newhash", afterUpdate.orElseThrow().passwordHash());
+        verify(userRepository, times(2)).findByUsername("alice");
+    }
+
+    @Test
+    void bindTo_ShouldExposeHitRatio() {
+        // Arrange
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(alice));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        // Act
+        cache.findByUsername("alice");
+        cache.findByUsername("alice");
+        cache.findByUsername("alice");
+
+        // Assert
+        assertEquals(2.0, registry.get("auth.user.cache.requests").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("auth.user.cache.requests").tag("result", "miss").functionCounter().count());
+        assertEquals(2.0 / 3, registry.get("auth.user.cache.hit.ratio").gauge().value(), 1e-9);
+    }
+}
@@ -0,0 +1,165 @@
+package com.hyperativa.card.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private final AtomicLong clock = new AtomicLong(NOW);
+    private final AtomicInteger verifications = new AtomicInteger();
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new VerifiedTokenCache(true, 100, 4, Duration.ofMinutes(5), Duration.ofSeconds(5), 20, clock::get);
+    }
+
+    @Test
+    void resolve_ShouldVerifyOnce_WhenTokenIsReused() {
+        // Arrange
+        Function<String, Optional<JwtPrincipal>> verifier = validUntil(NOW + 3_600_000);
+
+        // Act
+        Optional<JwtPrincipal> first = cache.resolve("token-a", verifier);
+        Optional<JwtPrincipal> second = cache.resolve("token-a", verifier);
+
+        // Assert
+        assertEquals(1, verifications.get());
+        assertEquals(first, second);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void resolve_ShouldNotServeEntry_AfterTokenExpiry() {
+        // Arrange - token expires in 10s, well before max-ttl
+        Function<String, Optional<JwtPrincipal>> verifier = validUntil(NOW + 10_000);
+        cache.resolve("token-a", verifier);
+
+        // Act
+        clock.set(NOW + 10_000);
+        cache.resolve("token-a", verifier);
+
+        // Assert
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void resolve_ShouldReverify_AfterMaxTtl() {
+        // Arrange
+        Function<String, Optional<JwtPrincipal>> verifier = validUntil(NOW + 3_600_000);
+        cache.resolve("token-a", verifier);
+
+        // Act
+        clock.set(NOW + Duration.ofMinutes(5).toMillis());
+        cache.resolve("token-a", verifier);
+
+        // Assert
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void resolve_ShouldNegativelyCacheInvalidTokens_Briefly() {
+        // Arrange
+        Function<String, Optional<JwtPrincipal>> rejecting = token -> {
+            verifications.incrementAndGet();
+            return Optional.empty();
+        };
+
+        // Act
+        assertTrue(cache.resolve("bad-token", rejecting).isEmpty());
+        assertTrue(cache.resolve("bad-token", rejecting).isEmpty());
+        clock.set(NOW + 5_000);
+        assertTrue(cache.resolve("bad-token", rejecting).isEmpty());
+
+        // Assert
+        assertEquals(2, verifications.get(), "Second call served from the negative cache");
+        assertEquals(1, cache.getNegativeHitCount());
+    }
+
+    @Test
+    void resolve_ShouldStayBounded() {
+        // Arrange
+        Function<String, Optional<JwtPrincipal>> verifier = validUntil(NOW + 3_600_000);
+
+        // Act
+        for (int i = 0; i < 1_000; i++) {
+            cache.resolve("token-" + i, verifier);
+        }
+
+        // Assert
+        assertTrue(cache.size() <= 100, "Cache size must not exceed max-size");
+    }
+
+    @Test
+    void resolve_ShouldKeepValidTokens_WhenFloodedWithInvalidOnes() {
+        // Arrange
+        Function<String, Optional<JwtPrincipal>> verifier = validUntil(NOW + 3_600_000);
+        for (int i = 0; i < 20; i++) {
+            cache.resolve("token-" + i, verifier);
+        }
+        Function<String, Optional<JwtPrincipal>> rejecting = token -> Optional.empty();
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            cache.resolve("bad-token-" + i, rejecting);
+        }
+        for (int i = 0; i < 20; i++) {
+            cache.resolve("token-" + i, verifier);
+        }
+
+        // Assert
+        assertEquals(20, cache.getHitCount(), "Invalid tokens must not evict valid ones");
+        assertTrue(cache.size() <= 100 + 20, "Both caches stay within their own max-size");
+    }
+
+    @Test
+    void resolve_ShouldNotCacheInvalidTokens_WhenNegativeCacheIsOff() {
+        // Arrange
+        cache = new VerifiedTokenCache(true, 100, 4, Duration.ofMinutes(5), Duration.ofSeconds(5), 0, clock::get);
+        Function<String, Optional<JwtPrincipal>> rejecting = token -> {
+            verifications.incrementAndGet();
+            return Optional.empty();
+        };
+
+        // Act
+        cache.resolve("bad-token", rejecting);
+        cache.resolve("bad-token", rejecting);
+
+        // Assert
+        assertEquals(2, verifications.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void resolve_ShouldAlwaysVerify_WhenDisabled() {
+        // Arrange
+        cache = new VerifiedTokenCache(false, 100, 4, Duration.ofMinutes(5), Duration.ofSeconds(5), 20, clock::get);
+        Function<String, Optional<JwtPrincipal>> verifier = validUntil(NOW + 3_600_000);
+
+        // Act
+        cache.resolve("token-a", verifier);
+        cache.resolve("token-a", verifier);
+
+        // Assert
+        assertEquals(2, verifications.get());
+    }
+
+    private Function<String, Optional<JwtPrincipal>> validUntil(long expiresAtMillis) {
+        return token -> {
+            verifications.incrementAndGet();
+            return Optional.of(new JwtPrincipal("admin", "ADMIN", Instant.ofEpochMilli(expiresAtMillis)));
+        };
+    }
+}
@@ -0,0 +1,169 @@
+package com.hyperativa.card.service;
+
+import com.hyperativa.card.dto.AuthResponse;
+import com.hyperativa.card.dto.LoginRequest;
+import com.hyperativa.card.exception.InvalidRefreshTokenException;
+import com.hyperativa.card.exception.ServiceBusyException;
+import com.hyperativa.card.model.User;
+import com.hyperativa.card.repository.UserRepository;
+import com.hyperativa.card.security.JwtTokenProvider;
+import com.hyperativa.card.security.UserCredentialsCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceTest {
+
+    private static final int STRENGTH = 5;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JwtTokenProvider tokenProvider;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(STRENGTH);
+    private final Executor directExecutor = Runnable::run;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User("alice", encoder.encode("secret"), "alice@example.com", "USER");
+        user.setId(1L);
+    }
+
+    private AuthService service(Executor executor, boolean rehashOnLogin) {
+        // Cache disabled: every lookup goes straight to the repository mock
+        UserCredentialsCache userCache = new UserCredentialsCache(userRepository, false, 0, Duration.ZERO);
+        return new AuthService(userRepository, userCache, encoder, tokenProvider, refreshTokenService, executor, STRENGTH, rehashOnLogin);
+    }
+
+    private LoginRequest request(String password) {
+        LoginRequest request = new LoginRequest();
+        request.setUsername("alice");
+        request.setPassword(password);
+        return request;
+    }
+
+    @Test
+    void loginAsync_ShouldReturnToken_WhenCredentialsAreValid() {
+        // Arrange
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user));
+        when(tokenProvider.generateToken("alice", "USER")).thenReturn("jwt");
+        when(refreshTokenService.issue("alice")).thenReturn("refresh-1");
+
+        // Act
+        AuthResponse response = service(directExecutor, true).loginAsync(request("secret")).join();
+
+        // Assert
+        assertEquals("jwt", response.getToken());
+        assertEquals("refresh-1", response.getRefreshToken());
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void loginAsync_ShouldCompleteExceptionally_WhenPasswordIsWrong() {
+        // Arrange
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user));
+
+        // Act & Assert
+        CompletionException ex = assertThrows(CompletionException.class,
+                () -> service(directExecutor, true).loginAsync(request("wrong")).join());
+        assertEquals("Invalid username or password", ex.getCause().getMessage());
+    }
+
+    @Test
+    void loginAsync_ShouldThrowServiceBusy_WhenExecutorRejects() {
+        // Arrange
+        Executor saturated = task -> {
+            throw new RejectedExecutionException("full");
+        };
+
+        // Act & Assert
+        assertThrows(ServiceBusyException.class, () -> service(saturated, true).loginAsync(request("secret")));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void login_ShouldRehashPassword_WhenStoredCostDiffersFromConfigured() {
+        // Arrange
+        user.setPassword(new BCryptPasswordEncoder(4).encode("secret"));
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(tokenProvider.generateToken("alice", "USER")).thenReturn("jwt");
+
+        // Act
+        service(directExecutor, true).login(request("secret"));
+
+        // Assert
+        verify(userRepository).save(user);
+        assertTrue(user.getPassword().startsWith("$2a$05$"));
+        assertTrue(encoder.matches("secret", user.getPassword()));
+    }
+
+    @Test
+    void login_ShouldKeepStoredHash_WhenRehashIsDisabled() {
+        // Arrange
+        String legacyHash = new BCryptPasswordEncoder(4).encode("secret");
+        user.setPassword(legacyHash);
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user));
+        when(tokenProvider.generateToken("alice", "USER")).thenReturn("jwt");
+
+        // Act
+        service(directExecutor, false).login(request("secret"));
+
+        // Assert
+        verify(userRepository, never()).save(any());
+        assertEquals(legacyHash, user.getPassword());
+    }
+
+    @Test
+    void refresh_ShouldMintAccessTokenWithoutPasswordCheck_WhenRefreshTokenIsValid() {
+        // Arrange
+        when(refreshTokenService.rotate("refresh-1"))
+                .thenReturn(new RefreshTokenService.Rotation("alice", "family", "refresh-2"));
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user));
+        when(tokenProvider.generateToken("alice", "USER")).thenReturn("jwt");
+        when(tokenProvider.getExpirationSeconds()).thenReturn(900L);
+
+        // Act
+        AuthResponse response = service(directExecutor, true).refresh("refresh-1");
+
+        // Assert
+        assertEquals("jwt", response.getToken());
+        assertEquals("refresh-2", response.getRefreshToken());
+        assertEquals(900L, response.getExpiresIn());
+    }
+
+    @Test
+    void refresh_ShouldRevokeFamily_WhenUserIsDisabled() {
+        // Arrange
+        user.setEnabled(false);
+        when(refreshTokenService.rotate("refresh-1"))
+                .thenReturn(new RefreshTokenService.Rotation("alice", "family", "refresh-2"));
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user));
+
+        // Act & Assert
+        assertThrows(InvalidRefreshTokenException.class, () -> service(directExecutor, true).refresh("refresh-1"));
+        verify(refreshTokenService).revokeFamily("family");
+        verifyNoInteractions(tokenProvider);
+    }
+}
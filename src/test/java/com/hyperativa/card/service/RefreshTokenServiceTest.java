@@ -0,0 +1,91 @@
+package com.hyperativa.card.service;
+
+import com.hyperativa.card.exception.InvalidRefreshTokenException;
+import com.hyperativa.card.model.RefreshToken;
+import com.hyperativa.card.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class RefreshTokenServiceTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Autowired
+    private RefreshTokenRepository repository;
+
+    private RefreshTokenService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new RefreshTokenService(repository, Duration.ofDays(1), Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void issue_ShouldStoreOnlyTheTokenHash() {
+        // Act
+        String token = service.issue("alice");
+
+        // Assert
+        RefreshToken stored = repository.findAll().get(0);
+        assertNotEquals(token, stored.getTokenHash());
+        assertEquals(64, stored.getTokenHash().length());
+        assertEquals("alice", stored.getUsername());
+    }
+
+    @Test
+    void rotate_ShouldIssueNewTokenInSameFamily_AndRevokeThePresentedOne() {
+        // Arrange
+        String first = service.issue("alice");
+
+        // Act
+        RefreshTokenService.Rotation rotation = service.rotate(first);
+
+        // Assert
+        assertEquals("alice", rotation.username());
+        assertNotEquals(first, rotation.refreshToken());
+        assertEquals(2, repository.count());
+        assertEquals(1, repository.findAll().stream().filter(t -> t.getRevokedAt() == null).count());
+        assertTrue(repository.findAll().stream().allMatch(t -> t.getFamilyId().equals(rotation.familyId())));
+    }
+
+    @Test
+    void rotate_ShouldRevokeWholeFamily_WhenRotatedTokenIsReused() {
+        // Arrange
+        String first = service.issue("alice");
+        String second = service.rotate(first).refreshToken();
+
+        // Act & Assert
+        assertThrows(InvalidRefreshTokenException.class, () -> service.rotate(first));
+        assertThrows(InvalidRefreshTokenException.class, () -> service.rotate(second));
+        assertTrue(repository.findAll().stream().allMatch(t -> t.getRevokedAt() != null));
+    }
+
+    @Test
+    void rotate_ShouldReject_WhenTokenIsExpired() {
+        // Arrange
+        String token = service.issue("alice");
+        RefreshTokenService later = new RefreshTokenService(repository, Duration.ofDays(1),
+                Clock.fixed(NOW.plus(Duration.ofDays(2)), ZoneOffset.UTC));
+
+        // Act & Assert
+        InvalidRefreshTokenException ex = assertThrows(InvalidRefreshTokenException.class, () -> later.rotate(token));
+        assertEquals("Refresh token has expired", ex.getMessage());
+    }
+
+    @Test
+    void rotate_ShouldReject_WhenTokenIsUnknown() {
+        // Act & Assert
+        assertThrows(InvalidRefreshTokenException.class, () -> service.rotate("unknown"));
+        assertThrows(InvalidRefreshTokenException.class, () -> service.rotate(" "));
+    }
+}
@@ -0,0 +1,116 @@
+package com.hyperativa.card.service.impl;
+
+import com.hyperativa.card.dto.CardExportFormat;
+import com.hyperativa.card.repository.CardJdbcRepository;
+import com.hyperativa.card.repository.CardJdbcRepository.CardRowHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CardExportServiceImplTest {
+
+    @Mock
+    private CardJdbcRepository cardJdbcRepository;
+
+    @InjectMocks
+    private CardExportServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        lenient().doAnswer(invocation -> {
+            CardRowHandler handler = invocation.getArgument(1);
+            handler.handle(1L, 4456897919999999L);
+            handler.handle(2L, 4456897929999999L);
+            return null;
+        }).when(cardJdbcRepository).streamAll(anyInt(), any(CardRowHandler.class));
+    }
+
+    @Test
+    void export_ShouldWriteOneJsonObjectPerLine_WhenNdjson() throws IOException {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long rows = service.export(CardExportFormat.NDJSON, false, out);
+
+        // Assert
+        assertEquals(2, rows);
+        assertEquals("""
+                {"id":1,"cardNumber":4456897919999999}
+                {"id":2,"cardNumber":4456897929999999}
+                """, out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void export_ShouldWriteHeaderAndRows_WhenCsv() throws IOException {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        service.export(CardExportFormat.CSV, false, out);
+
+        // Assert
+        assertEquals("""
+                id,card_number
+                1,4456897919999999
+                2,4456897929999999
+                """, out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void export_ShouldProduceValidGzip_WhenCompressed() throws IOException {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        service.export(CardExportFormat.CSV, true, out);
+
+        // Assert
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            String content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertTrue(content.startsWith("id,card_number\n1,4456897919999999\n"));
+        }
+    }
+
+    @Test
+    void export_ShouldPropagateIOException_WhenClientDisconnects() {
+        // Arrange
+        OutputStream brokenStream = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> service.export(CardExportFormat.NDJSON, false, brokenStream));
+    }
+
+    @Test
+    void fromValue_ShouldBeCaseInsensitive_AndRejectUnknownFormats() {
+        assertEquals(CardExportFormat.CSV, CardExportFormat.fromValue("csv"));
+        assertEquals(CardExportFormat.NDJSON, CardExportFormat.fromValue(" NDJSON "));
+        assertThrows(IllegalArgumentException.class, () -> CardExportFormat.fromValue("xml"));
+    }
+}
@@ -0,0 +1,216 @@
+package com.hyperativa.card.service.impl;
+
+import com.hyperativa.card.exception.ServiceBusyException;
+import com.hyperativa.card.model.Card;
+import com.hyperativa.card.repository.CardRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CardLookupCoalescerTest {
+
+    @Mock
+    private CardRepository repository;
+
+    private CardLookupCoalescer coalescer;
+    private final ExecutorService clients = Executors.newFixedThreadPool(16);
+
+    @AfterEach
+    void tearDown() {
+        clients.shutdownNow();
+        if (coalescer != null) {
+            coalescer.shutdown();
+        }
+    }
+
+    @Test
+    void lookup_ShouldShareOneQuery_ForIdenticalConcurrentLookups() throws Exception {
+        // Arrange
+        coalescer = new CardLookupCoalescer(repository, Duration.ofMillis(100), 100, 1, Duration.ofSeconds(5));
+        when(repository.findByCardNumberIn(anyCollection()))
+                .thenAnswer(invocation -> cardsFor(invocation.getArgument(0)));
+
+        // Act
+        List<CardLookupCoalescer.Lookup> results = lookupConcurrently(List.of(
+                4456897999999999L, 4456897999999999L, 4456897999999999L,
+                4456897999999999L, 4456897999999999L, 4456897999999999L));
+
+        // Assert
+        results.forEach(result -> assertEquals(Optional.of(1L), result.id()));
+        results.forEach(result -> assertTrue(result.shared()));
+        verify(repository, times(1)).findByCardNumberIn(anyCollection());
+        assertEquals(6, coalescer.getLookupCount());
+        assertEquals(5, coalescer.getCoalescedLookupCount());
+        assertEquals(1, coalescer.getQueryCount());
+        assertEquals(6.0, coalescer.getCoalescingRatio());
+    }
+
+    @Test
+    void lookup_ShouldCombineDistinctLookups_WithinSameWindow() throws Exception {
+        // Arrange
+        coalescer = new CardLookupCoalescer(repository, Duration.ofMillis(100), 100, 1, Duration.ofSeconds(5));
+        when(repository.findByCardNumberIn(anyCollection()))
+                .thenAnswer(invocation -> cardsFor(invocation.getArgument(0)));
+
+        // Act
+        List<CardLookupCoalescer.Lookup> results = lookupConcurrently(List.of(
+                4456897919999999L, 4456897929999999L, 4456897939999999L, 4456897949999999L));
+
+        // Assert
+        assertEquals(4, results.stream().filter(result -> result.id().isPresent()).count());
+        results.forEach(result -> assertTrue(result.shared()));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Long>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(repository, times(1)).findByCardNumberIn(captor.capture());
+        assertEquals(4, captor.getValue().size());
+        assertEquals(4.0, coalescer.getAverageBatchSize());
+    }
+
+    @Test
+    void lookup_ShouldSplitQueries_WhenMaxBatchSizeIsReached() throws Exception {
+        // Arrange
+        coalescer = new CardLookupCoalescer(repository, Duration.ofMillis(50), 2, 2, Duration.ofSeconds(5));
+        List<Integer> querySizes = java.util.Collections.synchronizedList(new ArrayList<>());
+        when(repository.findByCardNumberIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> numbers = invocation.getArgument(0);
+            querySizes.add(numbers.size());
+            return cardsFor(numbers);
+        });
+
+        // Act
+        List<CardLookupCoalescer.Lookup> results = lookupConcurrently(List.of(
+                4456897919999999L, 4456897929999999L, 4456897939999999L,
+                4456897949999999L, 4456897959999999L));
+
+        // Assert
+        assertEquals(5, results.stream().filter(result -> result.id().isPresent()).count());
+        assertTrue(querySizes.size() >= 3, "5 lookups with batch size 2 need at least 3 queries");
+        querySizes.forEach(size -> assertTrue(size <= 2, "No query may exceed the max batch size"));
+    }
+
+    @Test
+    void lookup_ShouldReturnEmpty_WhenCardDoesNotExist() {
+        // Arrange
+        coalescer = new CardLookupCoalescer(repository, Duration.ofMillis(1), 100, 1, Duration.ofSeconds(5));
+        when(repository.findByCardNumberIn(anyCollection())).thenReturn(List.of());
+
+        // Act
+        CardLookupCoalescer.Lookup result = coalescer.lookup(1111222233334444L);
+
+        // Assert
+        assertTrue(result.id().isEmpty());
+        assertFalse(result.shared(), "A lookup alone in its batch did not share the query");
+    }
+
+    @Test
+    void lookup_ShouldReturnEmpty_WithoutQuerying_WhenNullCardNumber() {
+        // Arrange
+        coalescer = new CardLookupCoalescer(repository, Duration.ofMillis(1), 100, 1, Duration.ofSeconds(5));
+
+        // Act
+        CardLookupCoalescer.Lookup result = coalescer.lookup(null);
+
+        // Assert
+        assertTrue(result.id().isEmpty());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void lookup_ShouldPropagateQueryFailure_ToAllWaitingCallers() {
+        // Arrange
+        coalescer = new CardLookupCoalescer(repository, Duration.ofMillis(1), 100, 1, Duration.ofSeconds(5));
+        when(repository.findByCardNumberIn(anyCollection()))
+                .thenThrow(new IllegalStateException("Database unavailable"));
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> coalescer.lookup(4456897999999999L));
+        assertEquals("Database unavailable", exception.getMessage());
+    }
+
+    @Test
+    void lookup_ShouldFailWithServiceBusy_WhenBatchStalls() {
+        // Arrange
+        coalescer = new CardLookupCoalescer(repository, Duration.ofMillis(1), 100, 1, Duration.ofMillis(50));
+        CountDownLatch release = new CountDownLatch(1);
+        when(repository.findByCardNumberIn(anyCollection())).thenAnswer(invocation -> {
+            release.await();
+            return List.of();
+        });
+
+        // Act & Assert
+        try {
+            assertThrows(ServiceBusyException.class, () -> coalescer.lookup(4456897999999999L));
+            assertEquals(1, coalescer.getTimeoutCount());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void bindTo_ShouldExposeCoalescingMetrics() throws Exception {
+        // Arrange
+        coalescer = new CardLookupCoalescer(repository, Duration.ofMillis(100), 100, 1, Duration.ofSeconds(5));
+        when(repository.findByCardNumberIn(anyCollection()))
+                .thenAnswer(invocation -> cardsFor(invocation.getArgument(0)));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        coalescer.bindTo(registry);
+
+        // Act
+        lookupConcurrently(List.of(4456897999999999L, 4456897999999999L, 4456897999999999L));
+
+        // Assert
+        assertEquals(3.0, registry.get("card.lookup.requests").functionCounter().count());
+        assertEquals(1.0, registry.get("card.lookup.queries").functionCounter().count());
+        assertEquals(3.0, registry.get("card.lookup.coalescing.ratio").gauge().value());
+    }
+
+    private List<CardLookupCoalescer.Lookup> lookupConcurrently(List<Long> cardNumbers) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<CardLookupCoalescer.Lookup>> futures = new ArrayList<>();
+        for (Long cardNumber : cardNumbers) {
+            futures.add(clients.submit(() -> {
+                start.await();
+                return coalescer.lookup(cardNumber);
+            }));
+        }
+        start.countDown();
+
+        List<CardLookupCoalescer.Lookup> results = new ArrayList<>();
+        for (Future<CardLookupCoalescer.Lookup> future : futures) {
+            results.add(future.get(5, TimeUnit.SECONDS));
+        }
+        return results;
+    }
+
+    private static List<Card> cardsFor(Collection<Long> cardNumbers) {
+        List<Card> cards = new ArrayList<>();
+        long id = 1;
+        for (Long cardNumber : cardNumbers) {
+            Card card = new Card(cardNumber);
+            card.setId(id++);
+            cards.add(card);
+        }
+        return cards;
+    }
+}
@@ -0,0 +1,49 @@
+package com.hyperativa.card.service.impl;
+
+import com.hyperativa.card.model.Card;
+import com.hyperativa.card.repository.CardRepository;
+import com.hyperativa.card.service.CardService;
+import com.hyperativa.card.support.StatementBudget;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The coalesced /cards/exists query runs on a flush thread; it must still be
+ * charged to the statement scope of the request it answered.
+ */
+@SpringBootTest
+class CardLookupStatementBudgetTest {
+
+    @Autowired
+    private CardService cardService;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired(required = false)
+    private CardLookupCoalescer lookupCoalescer;
+
+    @AfterEach
+    void tearDown() {
+        cardRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void findIdByCardNumber_ShouldCountCoalescedQuery_InCallerScope() {
+        // Arrange
+        assertNotNull(lookupCoalescer, "Coalescing is on by default");
+        Long id = cardRepository.save(new Card(4456897999999999L)).getId();
+
+        // Act
+        StatementBudget<Long> budget = StatementBudget.measure(() -> cardService.findIdByCardNumber(4456897999999999L));
+
+        // Assert
+        assertEquals(id, budget.result());
+        assertEquals(1, budget.counts().queries());
+        budget.assertStatementsAtMost(1);
+    }
+}
@@ -1,20 +1,27 @@
 package com.hyperativa.card.service.impl;
 
 import com.hyperativa.card.dto.CardDto;
+import com.hyperativa.card.dto.CardPageDto;
+import com.hyperativa.card.dto.CardSortKey;
 import com.hyperativa.card.exception.CardNotFoundException;
 import com.hyperativa.card.model.Card;
+import com.hyperativa.card.repository.CardJdbcRepository;
 import com.hyperativa.card.repository.CardRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,7 +30,9 @@ class CardServiceImplTest {
     @Mock
     private CardRepository repository;
 
-    @InjectMocks
+    @Mock
+    private CardJdbcRepository jdbcRepository;
+
     private CardServiceImpl service;
 
     private Long validCardNumber;
@@ -31,6 +40,7 @@ class CardServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        service = new CardServiceImpl(repository, jdbcRepository, (CardLookupCoalescer) null);
         validCardNumber = 4456897999999999L;
         savedCard = new Card(validCardNumber);
         savedCard.setId(1L);
@@ -112,6 +122,22 @@ class CardServiceImplTest {
         verify(repository, times(1)).findByCardNumber(null);
     }
 
+    @Test
+    void findIdByCardNumber_ShouldUseLookupCoalescer_WhenEnabled() {
+        // Arrange
+        CardLookupCoalescer coalescer = mock(CardLookupCoalescer.class);
+        CardServiceImpl coalescingService = new CardServiceImpl(repository, jdbcRepository, coalescer);
+        when(coalescer.lookup(validCardNumber)).thenReturn(new CardLookupCoalescer.Lookup(Optional.of(1L), true));
+
+        // Act
+        Long result = coalescingService.findIdByCardNumber(validCardNumber);
+
+        // Assert
+        assertEquals(1L, result);
+        verify(coalescer, times(1)).lookup(validCardNumber);
+        verifyNoInteractions(repository);
+    }
+
     @Test
     void save_ShouldReturnDtoWithIdOnly_NotExposingCardNumber() {
         // Arrange
@@ -125,5 +151,76 @@ class CardServiceImplTest {
         assertNotNull(result.getId());
         assertNull(result.getCardNumber(), "Card number should not be exposed in response");
     }
-}
 
+    @Test
+    void list_ShouldReturnMaskedCardsAndCursor_WhenMoreRowsExist() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 15, 10, 30);
+        when(jdbcRepository.findPage(CardSortKey.ID, null, null, null, null, 3)).thenReturn(List.of(
+                new Card(1L, 4456897919999999L, createdAt),
+                new Card(2L, 4456897929999999L, createdAt),
+                new Card(3L, 4456897939999999L, createdAt)));
+
+        // Act
+        CardPageDto page = service.list(CardSortKey.ID, null, 2, null, null, null);
+
+        // Assert
+        assertEquals(2, page.getItems().size());
+        assertEquals("445689******9999", page.getItems().get(0).getMaskedCardNumber());
+        assertNotNull(page.getNextCursor());
+    }
+
+    @Test
+    void list_ShouldSeekPastCursor_OnNextPage() {
+        // Arrange
+        when(jdbcRepository.findPage(eq(CardSortKey.ID), isNull(), isNull(), isNull(), isNull(), anyInt()))
+                .thenReturn(List.of(new Card(1L, 4456897919999999L, null), new Card(2L, 4456897929999999L, null)));
+        String cursor = service.list(CardSortKey.ID, null, 1, null, null, null).getNextCursor();
+
+        // Act
+        service.list(CardSortKey.ID, cursor, 1, null, null, null);
+
+        // Assert
+        verify(jdbcRepository).findPage(CardSortKey.ID, 1L, null, null, null, 2);
+    }
+
+    @Test
+    void list_ShouldNotReturnCursor_OnLastPage() {
+        // Arrange
+        when(jdbcRepository.findPage(any(), any(), any(), any(), any(), anyInt()))
+                .thenReturn(List.of(new Card(1L, 4456897919999999L, null)));
+
+        // Act
+        CardPageDto page = service.list(CardSortKey.CARD_NUMBER, null, 10, "445689", null, null);
+
+        // Assert
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void list_ShouldRejectCursor_FromDifferentSort() {
+        // Arrange
+        when(jdbcRepository.findPage(any(), any(), any(), any(), any(), anyInt())).thenReturn(List.of(
+                new Card(1L, 4456897919999999L, null), new Card(2L, 4456897929999999L, null)));
+        String idCursor = service.list(CardSortKey.ID, null, 1, null, null, null).getNextCursor();
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> service.list(CardSortKey.CARD_NUMBER, idCursor, 1, null, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.list(CardSortKey.ID, "not-a-cursor", 1, null, null, null));
+    }
+
+    @Test
+    void list_ShouldRejectInvalidFilters() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.list(CardSortKey.ID, null, 0, null, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.list(CardSortKey.ID, null, 10, "04abc", null, null));
+        LocalDateTime now = LocalDateTime.now();
+        assertThrows(IllegalArgumentException.class,
+                () -> service.list(CardSortKey.ID, null, 10, null, now, now.minusDays(1)));
+        verifyNoInteractions(jdbcRepository);
+    }
+}
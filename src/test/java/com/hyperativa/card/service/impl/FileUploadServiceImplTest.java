@@ -1,19 +1,26 @@
 package com.hyperativa.card.service.impl;
 
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
 import com.hyperativa.card.dto.UploadResultDto;
-import com.hyperativa.card.model.Card;
-import com.hyperativa.card.repository.CardRepository;
+import com.hyperativa.card.repository.CardJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -23,15 +30,20 @@ import static org.mockito.Mockito.*;
 class FileUploadServiceImplTest {
 
     @Mock
-    private CardRepository cardRepository;
+    private CardJdbcRepository cardJdbcRepository;
+
+    private SimpleMeterRegistry meterRegistry;
 
-    @InjectMocks
     private FileUploadServiceImpl service;
 
     private String validFileContent;
 
     @BeforeEach
     void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new FileUploadServiceImpl(cardJdbcRepository, meterRegistry,
+                FileUploadServiceImpl.LogMode.PER_RECORD, 1000);
+
         // Format from DESAFIO-HYPERATIVA.txt
         // Header: [01-29]NAME [30-37]DATE [38-45]LOTE [46-51]QTY
         // Detail: C# + spaces + card number
@@ -49,12 +61,7 @@ class FileUploadServiceImplTest {
     void processCardFile_ShouldProcessValidFile_Successfully() {
         // Arrange
         MultipartFile file = createMultipartFile(validFileContent);
-        when(cardRepository.save(any(Card.class))).thenAnswer(invocation -> {
-            Card card = invocation.getArgument(0);
-            card.setId(1L);
-            return card;
-        });
-        when(cardRepository.findByCardNumber(any(Long.class))).thenReturn(java.util.Optional.empty());
+        when(cardJdbcRepository.findExistingCardNumbers(anyCollection())).thenReturn(Set.of());
 
         // Act
         UploadResultDto result = service.processCardFile(file);
@@ -67,7 +74,7 @@ class FileUploadServiceImplTest {
         assertEquals(0, result.getErrorCount());
         assertEquals("20180524", result.getLoteDate());
         assertEquals(3, result.getDeclaredCount());
-        verify(cardRepository, times(3)).save(any(Card.class));
+        verify(cardJdbcRepository).insertAll(List.of(4456897919999999L, 4456897929999999L, 4456897939999999L));
     }
 
     @Test
@@ -81,12 +88,7 @@ class FileUploadServiceImplTest {
                 """;
         MultipartFile file = createMultipartFile(contentWithDuplicate);
 
-        when(cardRepository.findByCardNumber(any(Long.class))).thenReturn(java.util.Optional.empty());
-        when(cardRepository.save(any(Card.class))).thenAnswer(invocation -> {
-            Card card = invocation.getArgument(0);
-            card.setId(1L);
-            return card;
-        });
+        when(cardJdbcRepository.findExistingCardNumbers(anyCollection())).thenReturn(Set.of());
 
         // Act
         UploadResultDto result = service.processCardFile(file);
@@ -109,12 +111,7 @@ class FileUploadServiceImplTest {
                 """;
         MultipartFile file = createMultipartFile(contentWithInvalidCard);
 
-        when(cardRepository.findByCardNumber(any(Long.class))).thenReturn(java.util.Optional.empty());
-        when(cardRepository.save(any(Card.class))).thenAnswer(invocation -> {
-            Card card = invocation.getArgument(0);
-            card.setId(1L);
-            return card;
-        });
+        when(cardJdbcRepository.findExistingCardNumbers(anyCollection())).thenReturn(Set.of());
 
         // Act
         UploadResultDto result = service.processCardFile(file);
@@ -136,12 +133,7 @@ class FileUploadServiceImplTest {
                 """;
         MultipartFile file = createMultipartFile(contentWithShortCard);
 
-        when(cardRepository.findByCardNumber(any(Long.class))).thenReturn(java.util.Optional.empty());
-        when(cardRepository.save(any(Card.class))).thenAnswer(invocation -> {
-            Card card = invocation.getArgument(0);
-            card.setId(1L);
-            return card;
-        });
+        when(cardJdbcRepository.findExistingCardNumbers(anyCollection())).thenReturn(Set.of());
 
         // Act
         UploadResultDto result = service.processCardFile(file);
@@ -156,12 +148,7 @@ class FileUploadServiceImplTest {
     void processCardFile_ShouldParseHeader_Correctly() {
         // Arrange
         MultipartFile file = createMultipartFile(validFileContent);
-        when(cardRepository.findByCardNumber(any(Long.class))).thenReturn(java.util.Optional.empty());
-        when(cardRepository.save(any(Card.class))).thenAnswer(invocation -> {
-            Card card = invocation.getArgument(0);
-            card.setId(1L);
-            return card;
-        });
+        when(cardJdbcRepository.findExistingCardNumbers(anyCollection())).thenReturn(Set.of());
 
         // Act
         UploadResultDto result = service.processCardFile(file);
@@ -181,12 +168,7 @@ class FileUploadServiceImplTest {
                 """;
         MultipartFile file = createMultipartFile(contentWithWrongCount);
 
-        when(cardRepository.findByCardNumber(any(Long.class))).thenReturn(java.util.Optional.empty());
-        when(cardRepository.save(any(Card.class))).thenAnswer(invocation -> {
-            Card card = invocation.getArgument(0);
-            card.setId(1L);
-            return card;
-        });
+        when(cardJdbcRepository.findExistingCardNumbers(anyCollection())).thenReturn(Set.of());
 
         // Act
         UploadResultDto result = service.processCardFile(file);
@@ -246,12 +228,7 @@ class FileUploadServiceImplTest {
                 """;
         MultipartFile file = createMultipartFile(contentWithMultipleDuplicates);
 
-        when(cardRepository.findByCardNumber(any(Long.class))).thenReturn(java.util.Optional.empty());
-        when(cardRepository.save(any(Card.class))).thenAnswer(invocation -> {
-            Card card = invocation.getArgument(0);
-            card.setId(1L);
-            return card;
-        });
+        when(cardJdbcRepository.findExistingCardNumbers(anyCollection())).thenReturn(Set.of());
 
         // Act
         UploadResultDto result = service.processCardFile(file);
@@ -271,23 +248,142 @@ class FileUploadServiceImplTest {
                 """;
         MultipartFile file = createMultipartFile(content);
 
-        when(cardRepository.findByCardNumber(anyLong())).thenReturn(java.util.Optional.empty());
-        when(cardRepository.save(any(Card.class))).thenAnswer(invocation -> {
-            Card card = invocation.getArgument(0);
-            // Parser extracts all digits, so 4456897999999999 is correct
-            assertEquals(4456897999999999L, card.getCardNumber());
-            card.setId(1L);
-            return card;
-        });
+        when(cardJdbcRepository.findExistingCardNumbers(anyCollection())).thenReturn(Set.of());
 
         // Act
         UploadResultDto result = service.processCardFile(file);
 
         // Assert
-        verify(cardRepository, atLeastOnce()).save(any(Card.class));
+        // Parser extracts all digits, so 4456897999999999 is correct
+        verify(cardJdbcRepository).insertAll(List.of(4456897999999999L));
         assertEquals(1, result.getProcessedCount());
     }
 
+    @Test
+    void processCardFile_ShouldInsertCardByCard_WhenBatchHitsConstraintViolation() {
+        // Arrange
+        MultipartFile file = createMultipartFile(validFileContent);
+        when(cardJdbcRepository.findExistingCardNumbers(anyCollection())).thenReturn(Set.of());
+        doThrow(new DataIntegrityViolationException("duplicate")).when(cardJdbcRepository).insertAll(anyList());
+        lenient().doThrow(new DataIntegrityViolationException("duplicate")).when(cardJdbcRepository).insert(4456897929999999L);
+
+        // Act
+        UploadResultDto result = service.processCardFile(file);
+
+        // Assert
+        assertEquals(2, result.getProcessedCount());
+        assertEquals(1, result.getDuplicatedCount(), "Card stored concurrently counts as duplicate");
+        verify(cardJdbcRepository).insert(4456897919999999L);
+        verify(cardJdbcRepository).insert(4456897939999999L);
+    }
+
+    @Test
+    void processCardFile_ShouldRecordUploadMetrics() {
+        // Arrange
+        String content = """
+                DESAFIO-HYPERATIVA           20180524LOTE0001000004
+                C1     4456897919999999
+                C2     4456897919999999
+                C3     4456897929999999
+                C4     INVALID_NUMBER
+                LOTE0001000004
+                """;
+        MultipartFile file = createMultipartFile(content);
+
+        when(cardJdbcRepository.findExistingCardNumbers(anyCollection())).thenReturn(Set.of(4456897929999999L));
+
+        // Act
+        service.processCardFile(file);
+
+        // Assert
+        assertEquals(3, meterRegistry.get("card.upload.lines").tag("result", "accepted").counter().count());
+        assertEquals(1, meterRegistry.get("card.upload.lines").tag("result", "rejected").counter().count());
+        assertEquals(1, meterRegistry.get("card.upload.cards.saved").counter().count());
+        assertEquals(1, meterRegistry.get("card.upload.duplicates").tag("source", "file").counter().count());
+        assertEquals(1, meterRegistry.get("card.upload.duplicates").tag("source", "database").counter().count());
+        assertEquals(1, meterRegistry.get("card.upload.batch").timer().count());
+        assertEquals(1, meterRegistry.get("card.upload.file").tag("status", "SUCCESS").timer().count());
+    }
+
+    @Test
+    void processCardFile_ShouldLogOneLinePerBatch_InSummaryMode() {
+        // Arrange
+        service = new FileUploadServiceImpl(cardJdbcRepository, meterRegistry, FileUploadServiceImpl.LogMode.SUMMARY, 1000);
+        when(cardJdbcRepository.findExistingCardNumbers(anyCollection())).thenReturn(Set.of());
+
+        // Act
+        List<String> messages = captureLogs(() -> service.processCardFile(createMultipartFile(validFileContent)));
+
+        // Assert
+        assertTrue(messages.stream().noneMatch(message -> message.startsWith("Processing card")),
+                "No per-record lines in summary mode");
+        assertEquals(List.of("Batch saved lote=LOTE0001 batch=1 size=3 saved=3 duplicatesInFile=0 duplicatesInDatabase=0"),
+                messages.stream().filter(message -> message.startsWith("Batch saved"))
+                        .map(message -> message.substring(0, message.indexOf(" elapsedMs=")))
+                        .toList());
+    }
+
+    @Test
+    void processCardFile_ShouldLogEveryRecord_InPerRecordMode() {
+        // Arrange
+        when(cardJdbcRepository.findExistingCardNumbers(anyCollection())).thenReturn(Set.of());
+
+        // Act
+        List<String> messages = captureLogs(() -> service.processCardFile(createMultipartFile(validFileContent)));
+
+        // Assert
+        assertEquals(3, messages.stream().filter(message -> message.startsWith("Processing card")).count());
+        assertEquals(3, messages.stream().filter(message -> message.startsWith("  -> SAVED")).count());
+    }
+
+    @Test
+    void processCardFile_ShouldFollowAboutOneCardPerSampleEvery_InSampledMode() {
+        // Arrange
+        int cards = 2000;
+        int sampleEvery = 100;
+        service = new FileUploadServiceImpl(cardJdbcRepository, meterRegistry,
+                FileUploadServiceImpl.LogMode.SAMPLED, sampleEvery);
+        when(cardJdbcRepository.findExistingCardNumbers(anyCollection())).thenReturn(Set.of());
+        StringBuilder content = new StringBuilder("DESAFIO-HYPERATIVA           20180524LOTE0001002000\n");
+        for (int i = 1; i <= cards; i++) {
+            content.append(String.format("C%-6d%d%n", i, 4456897900000000L + i));
+        }
+        content.append("LOTE0001002000\n");
+
+        // Act
+        List<String> messages = captureLogs(() -> service.processCardFile(createMultipartFile(content.toString())));
+
+        // Assert
+        Set<String> parsed = cardsLoggedWith(messages, "  Parser extracted: ");
+        Set<String> processed = cardsLoggedWith(messages, "Processing card: ");
+        Set<String> saved = cardsLoggedWith(messages, "  -> SAVED successfully: ");
+        int expected = cards / sampleEvery;
+        assertTrue(parsed.size() >= expected / 2 && parsed.size() <= expected * 2,
+                "Expected about " + expected + " sampled cards but got " + parsed.size());
+        assertEquals(parsed, processed, "A sampled card is followed from parsing to saving");
+        assertEquals(parsed, saved, "A sampled card is followed from parsing to saving");
+    }
+
+    private static Set<String> cardsLoggedWith(List<String> messages, String prefix) {
+        return messages.stream()
+                .filter(message -> message.startsWith(prefix))
+                .map(message -> message.substring(prefix.length()))
+                .collect(Collectors.toSet());
+    }
+
+    private List<String> captureLogs(Runnable work) {
+        Logger logger = (Logger) LoggerFactory.getLogger(FileUploadServiceImpl.class);
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        try {
+            work.run();
+        } finally {
+            logger.detachAppender(appender);
+        }
+        return appender.list.stream().map(ILoggingEvent::getFormattedMessage).toList();
+    }
+
     private MultipartFile createMultipartFile(String content) {
         return new MockMultipartFile(
                 "file",
@@ -0,0 +1,69 @@
+package com.hyperativa.card.service.impl;
+
+import com.hyperativa.card.benchmark.LoteFileGenerator;
+import com.hyperativa.card.dto.UploadResultDto;
+import com.hyperativa.card.repository.CardRepository;
+import com.hyperativa.card.service.FileUploadService;
+import com.hyperativa.card.support.StatementBudget;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.multipart.MultipartFile;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Round-trip budgets of the upload path against the real DataSource chain:
+ * 10 batches of 1000 cards may cost one lookup (auto-commit) and one batched
+ * insert (its own transaction) each.
+ */
+@SpringBootTest
+class FileUploadStatementBudgetTest {
+
+    private static final int CARDS = 10_000;
+
+    @Autowired
+    private FileUploadService uploadService;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @AfterEach
+    void tearDown() {
+        cardRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void processCardFile_ShouldStayWithinStatementBudget_For10kCards() {
+        // Arrange
+        MultipartFile file = LoteFileGenerator.multipartFile(CARDS, 0.0, 0.0, 1);
+
+        // Act
+        StatementBudget<UploadResultDto> budget = StatementBudget.measure(() -> uploadService.processCardFile(file));
+
+        // Assert
+        assertEquals(CARDS, budget.result().getProcessedCount());
+        assertEquals(CARDS, cardRepository.count());
+        budget.assertStatementsAtMost(30)
+                .assertQueriesAtMost(10)
+                .assertInsertsAtMost(10)
+                .assertCommitsAtMost(20);
+    }
+
+    @Test
+    void processCardFile_ShouldOnlyQuery_WhenEveryCardIsAlreadyStored() {
+        // Arrange
+        uploadService.processCardFile(LoteFileGenerator.multipartFile(CARDS, 0.0, 0.0, 1));
+        MultipartFile again = LoteFileGenerator.multipartFile(CARDS, 0.0, 0.0, 1);
+
+        // Act
+        StatementBudget<UploadResultDto> budget = StatementBudget.measure(() -> uploadService.processCardFile(again));
+
+        // Assert
+        assertEquals(CARDS, budget.result().getDuplicatedCount());
+        budget.assertQueriesAtMost(10)
+                .assertInsertsAtMost(0)
+                .assertUpdatesAtMost(0);
+    }
+}
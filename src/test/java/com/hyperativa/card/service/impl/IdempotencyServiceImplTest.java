@@ -0,0 +1,260 @@
+package com.hyperativa.card.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hyperativa.card.dto.CardDto;
+import com.hyperativa.card.exception.IdempotencyKeyInUseException;
+import com.hyperativa.card.exception.IdempotencyKeyMismatchException;
+import com.hyperativa.card.model.IdempotencyKey;
+import com.hyperativa.card.repository.IdempotencyKeyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceImplTest {
+
+    private static final String SECRET = "idempotency-test-secret";
+
+    @Mock
+    private IdempotencyKeyRepository repository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private MutableClock clock;
+    private IdempotencyServiceImpl service;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        service = new IdempotencyServiceImpl(repository, objectMapper, Duration.ofMinutes(10), 1000, false, SECRET, clock);
+        executions = new AtomicInteger();
+    }
+
+    @Test
+    void execute_ShouldReturnOriginalResponse_WithoutRunningActionAgain() {
+        // Act
+        CardDto first = service.execute("admin", "key-1", "4456897999999999", CardDto.class, this::createCard);
+        CardDto retry = service.execute("admin", "key-1", "4456897999999999", CardDto.class, this::createCard);
+
+        // Assert
+        assertEquals(1, executions.get(), "Retry must not run the action again");
+        assertSame(first, retry);
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void execute_ShouldScopeKeys_ByOwner() {
+        // Act
+        service.execute("admin", "key-1", "4456897999999999", CardDto.class, this::createCard);
+        service.execute("user", "key-1", "4456897999999999", CardDto.class, this::createCard);
+
+        // Assert
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void execute_ShouldReject_WhenKeyReusedWithDifferentRequest() {
+        // Arrange
+        service.execute("admin", "key-1", "4456897999999999", CardDto.class, this::createCard);
+
+        // Act & Assert
+        assertThrows(IdempotencyKeyMismatchException.class, () ->
+                service.execute("admin", "key-1", "4456897988888888", CardDto.class, this::createCard));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void execute_ShouldReject_WhenSameKeyStillInProgress() {
+        // Act & Assert
+        assertThrows(IdempotencyKeyInUseException.class, () ->
+                service.execute("admin", "key-1", "4456897999999999", CardDto.class, () ->
+                        service.execute("admin", "key-1", "4456897999999999", CardDto.class, this::createCard)));
+    }
+
+    @Test
+    void execute_ShouldNotRememberFailures() {
+        // Arrange
+        assertThrows(IllegalStateException.class, () ->
+                service.execute("admin", "key-1", "4456897999999999", CardDto.class, () -> {
+                    throw new IllegalStateException("Database unavailable");
+                }));
+
+        // Act
+        CardDto result = service.execute("admin", "key-1", "4456897999999999", CardDto.class, this::createCard);
+
+        // Assert
+        assertNotNull(result);
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void execute_ShouldNotRememberFailures_WhenActionThrowsError() {
+        // Arrange
+        assertThrows(StackOverflowError.class, () ->
+                service.execute("admin", "key-1", "4456897999999999", CardDto.class, () -> {
+                    throw new StackOverflowError();
+                }));
+
+        // Act
+        CardDto result = service.execute("admin", "key-1", "4456897999999999", CardDto.class, this::createCard);
+
+        // Assert
+        assertNotNull(result, "The key must not stay in progress after an Error");
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void execute_ShouldNotRememberKey_WhenPersistedLookupFails() {
+        // Arrange
+        service = new IdempotencyServiceImpl(repository, objectMapper, Duration.ofMinutes(10), 1000, true, SECRET, clock);
+        when(repository.findById("admin:key-1"))
+                .thenThrow(new IllegalStateException("Database unavailable"))
+                .thenReturn(Optional.empty());
+        assertThrows(IllegalStateException.class, () ->
+                service.execute("admin", "key-1", "4456897999999999", CardDto.class, this::createCard));
+
+        // Act
+        CardDto result = service.execute("admin", "key-1", "4456897999999999", CardDto.class, this::createCard);
+
+        // Assert
+        assertNotNull(result);
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void constructor_ShouldReject_BlankFingerprintSecret() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () ->
+                new IdempotencyServiceImpl(repository, objectMapper, Duration.ofMinutes(10), 1000, false, " ", clock));
+    }
+
+    @Test
+    void execute_ShouldRunActionAgain_AfterTtlExpires() {
+        // Arrange
+        service.execute("admin", "key-1", "4456897999999999", CardDto.class, this::createCard);
+
+        // Act
+        clock.advance(Duration.ofMinutes(11));
+        service.execute("admin", "key-1", "4456897999999999", CardDto.class, this::createCard);
+
+        // Assert
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void execute_ShouldEvictOldestKeys_WhenStoreIsFull() {
+        // Arrange
+        service = new IdempotencyServiceImpl(repository, objectMapper, Duration.ofMinutes(10), 2, false, SECRET, clock);
+        service.execute("admin", "key-1", "1", CardDto.class, this::createCard);
+        service.execute("admin", "key-2", "2", CardDto.class, this::createCard);
+        service.execute("admin", "key-3", "3", CardDto.class, this::createCard);
+
+        // Act
+        service.execute("admin", "key-1", "1", CardDto.class, this::createCard);
+
+        // Assert
+        assertEquals(4, executions.get(), "key-1 was evicted, so it runs again");
+    }
+
+    @Test
+    void execute_ShouldWriteThroughAndRestore_WhenPersistent() throws Exception {
+        // Arrange
+        service = new IdempotencyServiceImpl(repository, objectMapper, Duration.ofMinutes(10), 1000, true, SECRET, clock);
+        when(repository.findById("admin:key-1")).thenReturn(Optional.empty());
+
+        // Act
+        service.execute("admin", "key-1", "4456897999999999", CardDto.class, this::createCard);
+
+        // Assert
+        ArgumentCaptor<IdempotencyKey> saved = ArgumentCaptor.forClass(IdempotencyKey.class);
+        verify(repository).save(saved.capture());
+        assertEquals("admin:key-1", saved.getValue().getKey());
+        assertFalse(saved.getValue().getFingerprint().contains("4456897999999999"));
+        assertNotEquals(sha256("4456897999999999"), saved.getValue().getFingerprint(),
+                "An unkeyed hash of a card number can be brute-forced");
+
+        // Arrange - a fresh instance (e.g. after restart) only has the persisted copy
+        IdempotencyServiceImpl restarted =
+                new IdempotencyServiceImpl(repository, objectMapper, Duration.ofMinutes(10), 1000, true, SECRET, clock);
+        IdempotencyKey stored = new IdempotencyKey("admin:key-1", saved.getValue().getFingerprint(),
+                objectMapper.writeValueAsString(new CardDto(1L, null)),
+                LocalDateTime.now(clock), LocalDateTime.now(clock).plusMinutes(10));
+        when(repository.findById(anyString())).thenReturn(Optional.of(stored));
+
+        // Act
+        CardDto restored = restarted.execute("admin", "key-1", "4456897999999999", CardDto.class, this::createCard);
+
+        // Assert
+        assertEquals(1L, restored.getId());
+        assertEquals(1, executions.get());
+        verify(repository, times(1)).save(any(IdempotencyKey.class));
+    }
+
+    @Test
+    void execute_ShouldRejectPersistedKey_WhenFingerprintWasKeyedWithAnotherSecret() throws Exception {
+        // Arrange
+        service = new IdempotencyServiceImpl(repository, objectMapper, Duration.ofMinutes(10), 1000, true,
+                "another-secret", clock);
+        IdempotencyKey stored = new IdempotencyKey("admin:key-1", sha256("4456897999999999"),
+                objectMapper.writeValueAsString(new CardDto(1L, null)),
+                LocalDateTime.now(clock), LocalDateTime.now(clock).plusMinutes(10));
+        when(repository.findById("admin:key-1")).thenReturn(Optional.of(stored));
+
+        // Act & Assert
+        assertThrows(IdempotencyKeyMismatchException.class,
+                () -> service.execute("admin", "key-1", "4456897999999999", CardDto.class, this::createCard));
+        assertEquals(0, executions.get());
+    }
+
+    private CardDto createCard() {
+        return new CardDto((long) executions.incrementAndGet(), null);
+    }
+
+    private static String sha256(String value) throws Exception {
+        return java.util.HexFormat.of().formatHex(java.security.MessageDigest.getInstance("SHA-256")
+                .digest(value.getBytes(java.nio.charset.StandardCharsets.UTF_8)));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.hyperativa.card.service.impl;
+
+import com.hyperativa.card.dto.UploadResultDto;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoteFileParserTest {
+
+    @Test
+    void parseHeader_ShouldReadDateBatchAndQuantity() {
+        // Arrange
+        UploadResultDto result = new UploadResultDto();
+
+        // Act
+        LoteFileParser.parseHeader("DESAFIO-HYPERATIVA           20180524LOTE0001000010", result);
+
+        // Assert
+        assertEquals("20180524", result.getLoteDate());
+        assertEquals("LOTE0001", result.getLoteName());
+        assertEquals(10, result.getDeclaredCount());
+    }
+
+    @Test
+    void parseCardNumber_ShouldIgnoreIdentifierAndComments() {
+        // Act & Assert
+        assertEquals(4456897999999999L, LoteFileParser.parseCardNumber("C2     4456897999999999 // note 123"));
+        assertNull(LoteFileParser.parseCardNumber("C3     // no digits"));
+    }
+
+    @Test
+    void lineClassification_ShouldRecognizeDetailAndFooter() {
+        // Act & Assert
+        assertTrue(LoteFileParser.isDetailLine("  C1     4456897919999999"));
+        assertTrue(LoteFileParser.isFooterLine("LOTE0001000010"));
+        assertFalse(LoteFileParser.isFooterLine("DESAFIO-HYPERATIVA           20180524LOTE0001000010"));
+    }
+}
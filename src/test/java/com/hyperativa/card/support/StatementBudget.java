@@ -0,0 +1,76 @@
+package com.hyperativa.card.support;
+
+import com.hyperativa.card.config.StatementCounter;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Asserts how many database round trips a piece of work may issue, so N+1 query
+ * patterns and per-row writes fail the build. Needs a context whose DataSource
+ * is wrapped in a StatementCountingDataSource (the default).
+ *
+ * <pre>
+ * StatementBudget.measure(() -> uploadService.processCardFile(file))
+ *         .assertStatementsAtMost(30)
+ *         .assertCommitsAtMost(20);
+ * </pre>
+ */
+public final class StatementBudget<T> {
+
+    private final StatementCounter.Scope scope;
+    private final T result;
+
+    private StatementBudget(StatementCounter.Scope scope, T result) {
+        this.scope = scope;
+        this.result = result;
+    }
+
+    public static <T> StatementBudget<T> measure(Supplier<T> work) {
+        try (StatementCounter.Scope scope = StatementCounter.open("test")) {
+            return new StatementBudget<>(scope, work.get());
+        }
+    }
+
+    public static StatementBudget<Void> measure(Runnable work) {
+        return measure(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public T result() {
+        return result;
+    }
+
+    public StatementCounter.Scope counts() {
+        return scope;
+    }
+
+    public StatementBudget<T> assertStatementsAtMost(long budget) {
+        return check("statements", scope.statements(), budget);
+    }
+
+    public StatementBudget<T> assertQueriesAtMost(long budget) {
+        return check("queries", scope.queries(), budget);
+    }
+
+    public StatementBudget<T> assertInsertsAtMost(long budget) {
+        return check("inserts", scope.inserts(), budget);
+    }
+
+    public StatementBudget<T> assertUpdatesAtMost(long budget) {
+        return check("updates", scope.updates(), budget);
+    }
+
+    public StatementBudget<T> assertCommitsAtMost(long budget) {
+        return check("commits", scope.commits(), budget);
+    }
+
+    private StatementBudget<T> check(String what, long actual, long budget) {
+        assertTrue(actual <= budget, () -> "Expected at most " + budget + " " + what + " but got " + actual
+                + ": " + scope);
+        return this;
+    }
+}